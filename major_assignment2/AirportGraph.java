@@ -0,0 +1,192 @@
+package major_assignment2;
+
+/**
+ * AirportGraph.java
+ *
+ * The airport network in CSR form over the dense airport codes of a FlightTable: the
+ * neighbours of airport a are targets[offsets[a] .. offsets[a + 1]), sorted and without
+ * duplicates. Directed graphs have an edge origin -> dest per route; undirected graphs have
+ * both directions.
+ *
+ * Queries run on a Bfs object that owns reusable frontier bitsets and a distance array, so a
+ * query allocates nothing; one Bfs per thread. allPairsHops() runs one BFS per source on
+ * fork-join workers and returns the hop-distance matrix.
+ */
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class AirportGraph {
+    // Sources per leaf task in allPairsHops
+    static final int PARALLEL_LEAF_SOURCES = 8;
+    public static final short UNREACHABLE = -1;
+
+    final int n;
+    final int[] offsets;
+    final int[] targets;
+    final boolean directed;
+
+    private AirportGraph(int n, int[] offsets, int[] targets, boolean directed) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.directed = directed;
+    }
+
+    // One edge per distinct route of the table (both directions if undirected)
+    public static AirportGraph build(FlightTable t, boolean directed) {
+        int n = t.airports.size();
+        BitSet[] adj = new BitSet[n];
+        for (int a = 0; a < n; a++) adj[a] = new BitSet();
+        for (int i = 0; i < t.size; i++) {
+            adj[t.origin[i]].set(t.dest[i]);
+            if (!directed) adj[t.dest[i]].set(t.origin[i]);
+        }
+        int[] offsets = new int[n + 1];
+        for (int a = 0; a < n; a++) offsets[a + 1] = offsets[a] + adj[a].cardinality();
+        int[] targets = new int[offsets[n]];
+        for (int a = 0; a < n; a++) {
+            int k = offsets[a];
+            for (int b = adj[a].nextSetBit(0); b >= 0; b = adj[a].nextSetBit(b + 1)) targets[k++] = b;
+        }
+        return new AirportGraph(n, offsets, targets, directed);
+    }
+
+    public int airports() {
+        return n;
+    }
+
+    public int edges() {
+        return targets.length;
+    }
+
+    public boolean hasEdge(int from, int to) {
+        return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    public Bfs newBfs() {
+        return new Bfs();
+    }
+
+    // ---------- Single-source queries ----------
+    /** Reusable BFS state for one thread. Results are valid until the next query on this object. */
+    public class Bfs {
+        private final BitSet frontier = new BitSet(n);
+        private final BitSet next = new BitSet(n);
+        private final BitSet visited = new BitSet(n);
+        private final int[] dist = new int[n];
+
+        /** Hop distance from source to every airport (-1 if more than maxHops away); returns dist. */
+        public int[] hops(int source, int maxHops) {
+            Arrays.fill(dist, -1);
+            visited.clear();
+            frontier.clear();
+            frontier.set(source);
+            visited.set(source);
+            dist[source] = 0;
+            for (int level = 1; level <= maxHops && !frontier.isEmpty(); level++) {
+                next.clear();
+                for (int a = frontier.nextSetBit(0); a >= 0; a = frontier.nextSetBit(a + 1)) {
+                    for (int e = offsets[a]; e < offsets[a + 1]; e++) {
+                        int b = targets[e];
+                        if (!visited.get(b)) {
+                            visited.set(b);
+                            next.set(b);
+                            dist[b] = level;
+                        }
+                    }
+                }
+                frontier.clear();
+                frontier.or(next);
+            }
+            return dist;
+        }
+
+        /** Airports at exactly k hops (shortest path) from source. */
+        public BitSet atDistance(int source, int k) {
+            hops(source, k);
+            return frontier;
+        }
+
+        /** Airports within k hops of source, source included. */
+        public BitSet within(int source, int k) {
+            hops(source, k);
+            return visited;
+        }
+
+        /** End points of all walks of exactly k edges from source (airports may repeat on a walk). */
+        public BitSet walkEnds(int source, int k) {
+            frontier.clear();
+            frontier.set(source);
+            for (int step = 0; step < k; step++) {
+                next.clear();
+                for (int a = frontier.nextSetBit(0); a >= 0; a = frontier.nextSetBit(a + 1)) {
+                    for (int e = offsets[a]; e < offsets[a + 1]; e++) next.set(targets[e]);
+                }
+                frontier.clear();
+                frontier.or(next);
+            }
+            return frontier;
+        }
+    }
+
+    // ---------- Batched queries ----------
+    /**
+     * Hop distance between all pairs: hops[s * n + d], UNREACHABLE if there is no path.
+     * With parallel = true the sources are split over fork-join workers.
+     */
+    public short[] allPairsHops(boolean parallel) {
+        if ((long) n * n > Integer.MAX_VALUE) throw new IllegalStateException("too many airports for an all-pairs matrix: " + n);
+        short[] hops = new short[n * n];
+        if (parallel && n > PARALLEL_LEAF_SOURCES) {
+            ForkJoinPool.commonPool().invoke(new SourcesTask(hops, 0, n));
+        } else {
+            fillRows(hops, 0, n);
+        }
+        return hops;
+    }
+
+    private void fillRows(short[] hops, int from, int to) {
+        Bfs bfs = new Bfs();
+        for (int s = from; s < to; s++) {
+            int[] dist = bfs.hops(s, Integer.MAX_VALUE);
+            for (int d = 0; d < n; d++) hops[s * n + d] = dist[d] < 0 ? UNREACHABLE : (short) Math.min(dist[d], Short.MAX_VALUE);
+        }
+    }
+
+    private class SourcesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final short[] hops;
+        private final int from, to;
+
+        SourcesTask(short[] hops, int from, int to) {
+            this.hops = hops;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_LEAF_SOURCES) {
+                fillRows(hops, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SourcesTask(hops, from, mid), new SourcesTask(hops, mid, to));
+        }
+    }
+
+    // Number of airports reachable from each source (source excluded), from an allPairsHops matrix
+    public int[] reachableCounts(short[] hops) {
+        int[] counts = new int[n];
+        for (int s = 0; s < n; s++) {
+            for (int d = 0; d < n; d++) {
+                if (d != s && hops[s * n + d] != UNREACHABLE) counts[s]++;
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,272 @@
+package major_assignment2;
+
+/**
+ * BeamSearchEngine.java
+ *
+ * Beam search for part 5 (longest chain of connecting flights) on primitive arrays.
+ *
+ * A state is (airport, time, flights taken), stored column-wise in int[]/long[] arrays for the
+ * beam and for the candidates. Each iteration:
+ *   1. expand: every beam state writes up to maxOptionsPerState successors (the next departures
+ *      from its airport that land by the end time) into its own fixed slot range of the
+ *      candidate arrays; with parallel = true the states are expanded on fork-join workers
+ *   2. dedup: of the candidates with the same (airport, time) only the one with most flights is
+ *      kept (the earliest on ties), so the beam is not spent on equivalent states
+ *   3. select: a bounded heap keeps the best beamWidth candidates by (flights desc, time asc,
+ *      candidate order asc) and is drained into the next beam in that order
+ * The order is total, so parallel and sequential runs give the same result; with dedup = false
+ * the result equals the original sort-everything beam search.
+ *
+ * With trackPath = true every beam state also holds a node of a PathArena: candidates only
+ * remember the table row they took (their parent is the beam state owning the slot), and a node
+ * is added for the candidates that make it into the next beam. The arena grows by at most
+ * beamWidth nodes per iteration, and the best itinerary is rebuilt from its last node.
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class BeamSearchEngine {
+    // Beam states per leaf task in parallel mode
+    static final int PARALLEL_LEAF_STATES = 16;
+
+    public static class Config {
+        public final int beamWidth;
+        public final int maxOptionsPerState;
+        public int maxIterations = 10000;
+        public int stopAtFlights = Integer.MAX_VALUE;  // stop once a chain longer than this was found
+        public boolean dedup = true;
+        public boolean parallel = false;  // expand the beam on fork-join workers (main sets it from --parallel)
+        public boolean trackPath = true;  // keep parent pointers to rebuild the best itinerary
+
+        public Config(int beamWidth, int maxOptionsPerState) {
+            if (beamWidth < 1 || maxOptionsPerState < 1) throw new IllegalArgumentException("beam width and options per state must be >= 1");
+            if ((long) beamWidth * maxOptionsPerState > Integer.MAX_VALUE) throw new IllegalArgumentException("beam width * options per state must fit in an int");
+            this.beamWidth = beamWidth;
+            this.maxOptionsPerState = maxOptionsPerState;
+        }
+    }
+
+    public static class Result {
+        public int bestFlights;
+        public int iterations;
+        public long candidates;  // states generated by all expansions
+        public long nanos;
+        public int[] itinerary = new int[0]; // table rows of the best chain (trackPath only)
+        public int pathNodes;
+        public long pathBytes;
+
+        public double iterationsPerSecond() {
+            return nanos == 0 ? 0 : iterations / (nanos / 1e9);
+        }
+    }
+
+    private final FlightTable t;
+    private final DepartureIndex departures;
+    private final long end;
+    private final Config cfg;
+
+    // beam (current states) and candidates (slot range [i * maxOptionsPerState, ...) belongs to beam state i)
+    private int beamSize;
+    private int[] beamAirport, beamFlights, nextAirport, nextFlights;
+    private long[] beamTime, nextTime;
+    private int[] beamNode, nextNode;  // PathArena node per state (trackPath only)
+    private PathArena arena;
+    private final int[] candAirport, candFlights, candRow, candCount;
+    private final long[] candTime;
+    private final int[] heap;
+    private final LongIntHashMap seen;
+
+    public BeamSearchEngine(FlightTable t, DepartureIndex departures, long endEpochMin, Config cfg) {
+        this.t = t;
+        this.departures = departures;
+        this.end = endEpochMin;
+        this.cfg = cfg;
+        int capacity = cfg.beamWidth * cfg.maxOptionsPerState;
+        beamAirport = new int[cfg.beamWidth];
+        beamFlights = new int[cfg.beamWidth];
+        beamTime = new long[cfg.beamWidth];
+        nextAirport = new int[cfg.beamWidth];
+        nextFlights = new int[cfg.beamWidth];
+        nextTime = new long[cfg.beamWidth];
+        beamNode = new int[cfg.beamWidth];
+        nextNode = new int[cfg.beamWidth];
+        candAirport = new int[capacity];
+        candFlights = new int[capacity];
+        candTime = new long[capacity];
+        candRow = new int[capacity];
+        candCount = new int[cfg.beamWidth];
+        heap = new int[cfg.beamWidth];
+        seen = new LongIntHashMap(capacity);
+    }
+
+    public Result run(long startTime, int... startAirports) {
+        Result r = new Result();
+        long t0 = System.nanoTime();
+        beamSize = 0;
+        arena = cfg.trackPath ? new PathArena(1024) : null;
+        int bestNode = PathArena.NONE;
+        for (int a : startAirports) {
+            if (a < 0 || beamSize == cfg.beamWidth) continue;
+            beamNode[beamSize] = PathArena.NONE;
+            beamAirport[beamSize] = a;
+            beamTime[beamSize] = startTime;
+            beamFlights[beamSize++] = 0;
+        }
+
+        for (int iter = 0; iter < cfg.maxIterations && beamSize > 0; iter++) {
+            if (cfg.parallel && beamSize > PARALLEL_LEAF_STATES) {
+                ForkJoinPool.commonPool().invoke(new ExpandTask(0, beamSize));
+            } else {
+                expand(0, beamSize);
+            }
+            long generated = 0;
+            for (int i = 0; i < beamSize; i++) generated += candCount[i];
+            if (generated == 0) break;
+            r.iterations++;
+            r.candidates += generated;
+
+            select();
+            if (beamFlights[0] > r.bestFlights) {
+                r.bestFlights = beamFlights[0];
+                bestNode = beamNode[0];
+            }
+            if (r.bestFlights > cfg.stopAtFlights) break; // safety guard
+        }
+        if (arena != null) {
+            r.itinerary = arena.path(bestNode);
+            r.pathNodes = arena.nodes();
+            r.pathBytes = arena.heapBytes();
+        }
+        r.nanos = System.nanoTime() - t0;
+        return r;
+    }
+
+    // ---------- Expansion ----------
+    private void expand(int from, int to) {
+        int options = cfg.maxOptionsPerState;
+        for (int i = from; i < to; i++) {
+            int[] rows = departures.rows(beamAirport[i]);
+            int slot = i * options, n = 0;
+            for (int k = departures.firstAtOrAfter(beamAirport[i], beamTime[i]); k < rows.length && n < options; k++) {
+                int f = rows[k];
+                if (t.arrEpochMin[f] > end) continue;
+                candAirport[slot + n] = t.dest[f];
+                candTime[slot + n] = t.arrEpochMin[f];
+                candFlights[slot + n] = beamFlights[i] + 1;
+                candRow[slot + n] = f;
+                n++;
+            }
+            candCount[i] = n;
+        }
+    }
+
+    private class ExpandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        ExpandTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_LEAF_STATES) {
+                expand(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ExpandTask(from, mid), new ExpandTask(mid, to));
+        }
+    }
+
+    // ---------- Dedup + top-K ----------
+    private void select() {
+        int options = cfg.maxOptionsPerState;
+        if (cfg.dedup) {
+            seen.clear();
+            for (int i = 0; i < beamSize; i++) {
+                for (int c = i * options, last = c + candCount[i]; c < last; c++) {
+                    long key = stateKey(c);
+                    int kept = seen.get(key);
+                    if (kept == LongIntHashMap.MISSING || candFlights[c] > candFlights[kept]) seen.put(key, c);
+                }
+            }
+        }
+
+        // heap[0] is the worst of the best candidates seen so far
+        int size = 0;
+        for (int i = 0; i < beamSize; i++) {
+            for (int c = i * options, last = c + candCount[i]; c < last; c++) {
+                if (cfg.dedup && seen.get(stateKey(c)) != c) continue;
+                if (size < heap.length) {
+                    heap[size] = c;
+                    siftUp(size++);
+                } else if (better(c, heap[0])) {
+                    heap[0] = c;
+                    siftDown(0, size);
+                }
+            }
+        }
+
+        // drain worst-first into the back of the next beam, so it ends up best-first
+        beamSize = size;
+        for (int pos = size - 1; pos >= 0; pos--) {
+            int c = heap[0];
+            heap[0] = heap[pos];
+            siftDown(0, pos);
+            nextAirport[pos] = candAirport[c];
+            nextTime[pos] = candTime[c];
+            nextFlights[pos] = candFlights[c];
+            if (arena != null) nextNode[pos] = arena.add(beamNode[c / options], candRow[c]);
+        }
+        int[] airports = beamAirport, flights = beamFlights;
+        long[] times = beamTime;
+        beamAirport = nextAirport;
+        beamTime = nextTime;
+        beamFlights = nextFlights;
+        nextAirport = airports;
+        nextTime = times;
+        nextFlights = flights;
+        int[] nodes = beamNode;
+        beamNode = nextNode;
+        nextNode = nodes;
+    }
+
+    private long stateKey(int c) {
+        return (long) candAirport[c] << 40 | candTime[c];
+    }
+
+    // Candidate order: more flights, then earlier time, then earlier candidate
+    private boolean better(int a, int b) {
+        if (candFlights[a] != candFlights[b]) return candFlights[a] > candFlights[b];
+        if (candTime[a] != candTime[b]) return candTime[a] < candTime[b];
+        return a < b;
+    }
+
+    private void siftUp(int pos) {
+        int c = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(heap[parent], c)) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = c;
+    }
+
+    private void siftDown(int pos, int size) {
+        int c = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) break;
+            if (child + 1 < size && better(heap[child], heap[child + 1])) child++;
+            if (!better(c, heap[child])) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = c;
+    }
+}
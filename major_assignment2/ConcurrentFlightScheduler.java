@@ -0,0 +1,271 @@
+package major_assignment2;
+
+/**
+ * ConcurrentFlightScheduler.java
+ *
+ * Thread-safe variant of MajorAssignment2.FlightScheduler for many threads calling check()
+ * while other threads call reallocate(). Flights are keyed by the same packed long key.
+ *
+ * - Reads are lock-free: they read the current State through one volatile field. The key map
+ *   and the carrier dictionary of a State are never modified after it is published; origins
+ *   and the reallocated bitset are atomic arrays.
+ * - reallocate() locks one of STRIPES locks, chosen by the flight's date, so reallocations on
+ *   different days do not contend. It writes the origin (ECI) before setting the reallocated
+ *   bit, so a reader that sees the bit also sees the ECI origin.
+ * - Loads take every stripe lock, copy the State, add the flights and publish the new State.
+ *   Readers keep using the old State until then.
+ *
+ * Flight objects are not kept or mutated: the current origin of a flight is only available
+ * through originOf().
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongBinaryOperator;
+
+import major_assignment2.MajorAssignment2.Flight;
+import major_assignment2.MajorAssignment2.FlightScheduler;
+
+public class ConcurrentFlightScheduler {
+    static final int STRIPES = 64;
+    private static final LongBinaryOperator OR = (a, b) -> a | b;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    // Reallocations of flights that are not loaded yet, applied when they are: "carrier|dateCode|flight"
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // Airport names by code; only written while all stripes are held
+    private final SymbolDictionary airports = new SymbolDictionary();
+    private final int eci = airports.encode("ECI");
+    private volatile State state;
+
+    // Everything a reader needs; ids and carriers are read-only once published
+    private static final class State {
+        final LongIntHashMap ids;          // key -> flight id
+        final SymbolDictionary carriers;   // carrier ids used in the keys
+        final String[] airportNames;       // airport names by code
+        final int size;
+        final AtomicIntegerArray origins;  // airport code per flight id
+        final AtomicLongArray reallocated; // bitset over flight ids
+
+        State(LongIntHashMap ids, SymbolDictionary carriers, String[] airportNames, int size, AtomicIntegerArray origins,
+              AtomicLongArray reallocated) {
+            this.ids = ids;
+            this.carriers = carriers;
+            this.airportNames = airportNames;
+            this.size = size;
+            this.origins = origins;
+            this.reallocated = reallocated;
+        }
+
+        boolean isReallocated(int id) {
+            return (reallocated.get(id >>> 6) & (1L << id)) != 0;
+        }
+    }
+
+    public ConcurrentFlightScheduler() {
+        for (int s = 0; s < STRIPES; s++) stripes[s] = new ReentrantLock();
+        state = new State(new LongIntHashMap(), new SymbolDictionary(), names(airports), 0, new AtomicIntegerArray(0),
+                new AtomicLongArray(0));
+    }
+
+    // ---------- Loading ----------
+    public void loadFlightsFromTable(FlightTable table) {
+        Loader load = new Loader(table.size());
+        try {
+            int[] carrierIds = new int[table.carriers.size()];
+            int[] airportCodes = new int[table.airports.size()];
+            for (int id = 0; id < carrierIds.length; id++) carrierIds[id] = load.carriers.encode(table.carriers.name(id));
+            for (int id = 0; id < airportCodes.length; id++) airportCodes[id] = airports.encode(table.airports.name(id));
+            for (int row = 0; row < table.size(); row++) {
+                load.add(table.year[row], table.month[row], table.day[row], carrierIds[table.carrier[row]], table.flight[row],
+                        airportCodes[table.origin[row]]);
+            }
+        } catch (RuntimeException | Error e) {
+            load.abort();
+            throw e;
+        }
+        load.publish();
+    }
+
+    public void loadFlightsFromList(List<Flight> flights) {
+        Loader load = new Loader(flights.size());
+        try {
+            for (Flight f : flights) {
+                load.add(f.year, f.month, f.day, load.carriers.encode(f.carrier()), f.flight, airports.encode(f.origin()));
+            }
+        } catch (RuntimeException | Error e) {
+            load.abort();
+            throw e;
+        }
+        load.publish();
+    }
+
+    /**
+     * One load: holds all stripe locks from construction to publish() or abort(), builds the next
+     * State from a copy of the current one. A load that fails is aborted: nothing is published,
+     * readers keep the current State and the pending reallocations it consumed are restored.
+     */
+    private final class Loader {
+        final SymbolDictionary carriers = new SymbolDictionary();
+        final LongIntHashMap ids;
+        final State old;
+        final List<String> takenPending = new ArrayList<>(); // pending keys applied by this load
+        int[] origins;
+        long[] reallocated;
+        int size;
+
+        Loader(int expectedFlights) {
+            for (ReentrantLock lock : stripes) lock.lock();
+            try {
+                old = state;
+                for (int id = 0; id < old.carriers.size(); id++) carriers.encode(old.carriers.name(id));
+                ids = old.ids.copy(old.size + expectedFlights);
+                size = old.size;
+                origins = new int[Math.max(16, old.size + expectedFlights)];
+                reallocated = new long[(origins.length + 63) >>> 6];
+                for (int id = 0; id < old.size; id++) origins[id] = old.origins.get(id);
+                for (int w = 0; w < old.reallocated.length(); w++) reallocated[w] = old.reallocated.get(w);
+            } catch (RuntimeException | Error e) {
+                // e.g. OutOfMemoryError while copying: without this every later reallocate would block forever
+                unlockAll();
+                throw e;
+            }
+        }
+
+        void add(int year, int month, int day, int carrierId, int flightNum, int origin) {
+            long key = FlightScheduler.packKey(year, month, day, carrierId, flightNum);
+            if (key == FlightScheduler.NO_KEY) throw new IllegalArgumentException("flight cannot be keyed: " + carriers.name(carrierId) + "-" + flightNum);
+            int id = ids.get(key);
+            if (id == LongIntHashMap.MISSING) {
+                id = size++;
+                ids.put(key, id);
+                if (id == origins.length) grow();
+            }
+            // a replaced flight that was reallocated stays reallocated, like in FlightScheduler
+            if (!pending.isEmpty()) {
+                String waitingKey = pendingKey(carriers.name(carrierId), year, month, day, flightNum);
+                if (pending.remove(waitingKey)) {
+                    takenPending.add(waitingKey);
+                    reallocated[id >>> 6] |= 1L << id;
+                }
+            }
+            boolean isReallocated = (reallocated[id >>> 6] & (1L << id)) != 0 || origin == eci;
+            origins[id] = isReallocated ? eci : origin;
+            if (isReallocated) reallocated[id >>> 6] |= 1L << id;
+        }
+
+        private void grow() {
+            origins = Arrays.copyOf(origins, origins.length * 2);
+            reallocated = Arrays.copyOf(reallocated, (origins.length + 63) >>> 6);
+        }
+
+        void publish() {
+            try {
+                state = new State(ids, carriers, names(airports), size, new AtomicIntegerArray(origins),
+                        new AtomicLongArray(reallocated));
+            } catch (RuntimeException | Error e) {
+                pending.addAll(takenPending);
+                throw e;
+            } finally {
+                unlockAll();
+            }
+        }
+
+        // Give up the load without publishing anything
+        void abort() {
+            try {
+                pending.addAll(takenPending);
+            } finally {
+                unlockAll();
+            }
+        }
+    }
+
+    private void unlockAll() {
+        for (int s = STRIPES - 1; s >= 0; s--) stripes[s].unlock();
+    }
+
+    // ---------- Writes ----------
+    // Mark a flight as re-allocated to ECI; flightCode as in FlightScheduler ("CARRIER-flightNumber")
+    public void reallocate(int day, int month, int year, String flightCode) {
+        if (flightCode == null) flightCode = "";
+        int end = FlightScheduler.carrierEnd(flightCode);
+        int flightNum = FlightScheduler.flightNumber(flightCode);
+        ReentrantLock lock = stripeOf(year, month, day);
+        lock.lock();
+        try {
+            State s = state;
+            long key = FlightScheduler.packKey(year, month, day, s.carriers.idOf(flightCode, 0, end), flightNum);
+            int id = key == FlightScheduler.NO_KEY ? LongIntHashMap.MISSING : s.ids.get(key);
+            if (id == LongIntHashMap.MISSING) {
+                pending.add(pendingKey(flightCode.substring(0, end), year, month, day, flightNum));
+                return;
+            }
+            s.origins.set(id, eci);                                 // 1. origin
+            s.reallocated.getAndAccumulate(id >>> 6, 1L << id, OR); // 2. then the bit
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeOf(int year, int month, int day) {
+        return stripes[Math.floorMod(FlightIndex.dateCode(year, month, day), STRIPES)];
+    }
+
+    // ---------- Lock-free reads ----------
+    // Same contract as FlightScheduler.check: true if the flight exists and is not reallocated
+    public boolean check(int day, int month, int year, String flightCode) {
+        if (flightCode == null) flightCode = "";
+        State s = state;
+        int carrierId = s.carriers.idOf(flightCode, 0, FlightScheduler.carrierEnd(flightCode));
+        return check(s, FlightScheduler.packKey(year, month, day, carrierId, FlightScheduler.flightNumber(flightCode)));
+    }
+
+    public boolean check(int day, int month, int year, String carrier, int flightNo) {
+        State s = state;
+        int carrierId = carrier == null ? -1 : s.carriers.idOf(carrier);
+        return check(s, FlightScheduler.packKey(year, month, day, carrierId, flightNo));
+    }
+
+    private static boolean check(State s, long key) {
+        if (key == FlightScheduler.NO_KEY) return false;
+        int id = s.ids.get(key);
+        return id != LongIntHashMap.MISSING && !s.isReallocated(id);
+    }
+
+    // Current origin of a flight ("ECI" once it is reallocated), or null if there is no such flight
+    public String originOf(int day, int month, int year, String carrier, int flightNo) {
+        State s = state;
+        long key = FlightScheduler.packKey(year, month, day, carrier == null ? -1 : s.carriers.idOf(carrier), flightNo);
+        int id = key == FlightScheduler.NO_KEY ? LongIntHashMap.MISSING : s.ids.get(key);
+        return id == LongIntHashMap.MISSING ? null : s.airportNames[s.origins.get(id)];
+    }
+
+    public int size() {
+        return state.size;
+    }
+
+    public int reallocatedCount() {
+        State s = state;
+        int n = 0;
+        for (int w = 0; w < s.reallocated.length(); w++) n += Long.bitCount(s.reallocated.get(w));
+        return n;
+    }
+
+    // ---------- Helpers ----------
+    private static String pendingKey(String carrier, int year, int month, int day, int flightNum) {
+        return carrier + "|" + FlightIndex.dateCode(year, month, day) + "|" + flightNum;
+    }
+
+    private static String[] names(SymbolDictionary dict) {
+        String[] out = new String[dict.size()];
+        for (int id = 0; id < out.length; id++) out[id] = dict.name(id);
+        return out;
+    }
+}
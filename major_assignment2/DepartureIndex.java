@@ -0,0 +1,114 @@
+package major_assignment2;
+
+/**
+ * DepartureIndex.java
+ *
+ * Departures per origin airport, sorted by (departure, row): departure times as int epoch
+ * minutes and the table rows of the flights in a parallel int[].
+ *
+ * firstAtOrAfter(airport, t) answers "first departure at or after minute t" in constant time
+ * for the usual case: a skip table per airport holds, for every hour since the earliest
+ * departure, the index of that airport's first departure in or after that hour, so a lookup
+ * is one table read plus a scan over the departures of a single hour.
+ *
+ * Shared by the part 5 beam search, the exact chain solver and connection queries.
+ */
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+public class DepartureIndex {
+    static final int BUCKET_MINUTES = 60;
+
+    private final int[][] departures; // per airport, sorted
+    private final int[][] rows;       // per airport, parallel to departures
+    private final long base;          // first minute of bucket 0
+    private final int[][] bucketStart; // per airport: first index with departure >= base + b * BUCKET_MINUTES
+
+    // Index the rows for which include is true; their departure time must be known
+    public DepartureIndex(FlightTable t, IntPredicate include) {
+        int nAirports = t.airports.size();
+        int[] perOrigin = new int[nAirports];
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for (int i = 0; i < t.size; i++) {
+            if (!include.test(i)) continue;
+            long dep = t.depEpochMin[i];
+            if (dep == FlightTable.NA_TIME || dep < Integer.MIN_VALUE || dep > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("departure of row " + i + " cannot be indexed");
+            }
+            perOrigin[t.origin[i]]++;
+            min = Math.min(min, dep);
+            max = Math.max(max, dep);
+        }
+
+        // sort keys pack (departure, row) into one long so equal departures keep row order
+        long[][] keys = new long[nAirports][];
+        for (int a = 0; a < nAirports; a++) keys[a] = new long[perOrigin[a]];
+        Arrays.fill(perOrigin, 0);
+        for (int i = 0; i < t.size; i++) {
+            if (include.test(i)) keys[t.origin[i]][perOrigin[t.origin[i]]++] = (t.depEpochMin[i] << 32) | i;
+        }
+        departures = new int[nAirports][];
+        rows = new int[nAirports][];
+        for (int a = 0; a < nAirports; a++) {
+            Arrays.sort(keys[a]);
+            departures[a] = new int[keys[a].length];
+            rows[a] = new int[keys[a].length];
+            for (int k = 0; k < keys[a].length; k++) {
+                departures[a][k] = (int) (keys[a][k] >> 32);
+                rows[a][k] = (int) keys[a][k];
+            }
+        }
+
+        base = min == Long.MAX_VALUE ? 0 : Math.floorDiv(min, BUCKET_MINUTES) * BUCKET_MINUTES;
+        int buckets = min == Long.MAX_VALUE ? 0 : (int) ((max - base) / BUCKET_MINUTES) + 1;
+        bucketStart = new int[nAirports][];
+        for (int a = 0; a < nAirports; a++) {
+            int[] starts = new int[buckets];
+            int k = 0;
+            for (int b = 0; b < buckets; b++) {
+                long bucketBegin = base + (long) b * BUCKET_MINUTES;
+                while (k < departures[a].length && departures[a][k] < bucketBegin) k++;
+                starts[b] = k;
+            }
+            bucketStart[a] = starts;
+        }
+    }
+
+    public int airports() {
+        return departures.length;
+    }
+
+    public int count(int airport) {
+        return departures[airport].length;
+    }
+
+    // Sorted departures of one airport (epoch minutes); shared, do not modify
+    int[] departures(int airport) {
+        return departures[airport];
+    }
+
+    // Table rows of one airport's departures, parallel to departures(airport); shared, do not modify
+    int[] rows(int airport) {
+        return rows[airport];
+    }
+
+    // Index of the first departure of airport at or after minute, count(airport) if there is none
+    public int firstAtOrAfter(int airport, long minute) {
+        int[] deps = departures[airport];
+        if (minute <= base) return 0;
+        long b = (minute - base) / BUCKET_MINUTES;
+        if (b >= bucketStart[airport].length) return deps.length;
+        int k = bucketStart[airport][(int) b];
+        while (k < deps.length && deps[k] < minute) k++;
+        return k;
+    }
+
+    public long heapBytes() {
+        long bytes = 0;
+        for (int a = 0; a < departures.length; a++) {
+            bytes += 2 * HeapSize.arrayBytes(4, departures[a].length) + HeapSize.arrayBytes(4, bucketStart[a].length);
+        }
+        return bytes + 3 * HeapSize.arrayBytes(4, departures.length);
+    }
+}
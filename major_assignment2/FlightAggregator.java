@@ -0,0 +1,245 @@
+package major_assignment2;
+
+/**
+ * FlightAggregator.java
+ *
+ * Small aggregation engine over a FlightTable: register any number of aggregations, then
+ * evaluate all of them together in one fused pass over the rows.
+ *
+ * Supported aggregations:
+ * - GroupCount:     number of rows per int key (e.g. origin code), optionally filtered
+ * - DistinctSet:    set of distinct int keys (e.g. tailnum codes) among the filtered rows
+ * - FilteredSubset: row ids of the filtered rows, in row order
+ * - GroupSketch:    HyperLogLog distinct-count sketch of a 64-bit value hash per int key
+ *
+ * run(true) splits the rows into ranges evaluated on fork-join workers; every worker builds
+ * its own partial aggregates, which are merged left to right, so the results are the same as
+ * a sequential run.
+ */
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+public class FlightAggregator {
+    // Rows per leaf task in parallel mode
+    static final int PARALLEL_LEAF_ROWS = 1 << 16;
+
+    private final FlightTable table;
+    private final List<Aggregation<?>> aggregations = new ArrayList<>();
+
+    public FlightAggregator(FlightTable table) {
+        this.table = table;
+    }
+
+    // ---------- Aggregations ----------
+    /**
+     * One aggregation: P is the type of its partial state. accumulate() sees the rows of one
+     * range in order; merge() combines the partial of a range with the one of the range after it.
+     */
+    public abstract static class Aggregation<P> {
+        final IntPredicate filter;
+        P result;
+
+        Aggregation(IntPredicate filter) {
+            this.filter = filter;
+        }
+
+        abstract P newPartial();
+        abstract void accumulate(P partial, int row);
+        abstract P merge(P left, P right);
+
+        @SuppressWarnings("unchecked")
+        void accumulateUnchecked(Object partial, int row) {
+            if (filter == null || filter.test(row)) accumulate((P) partial, row);
+        }
+
+        @SuppressWarnings("unchecked")
+        Object mergeUnchecked(Object left, Object right) {
+            return merge((P) left, (P) right);
+        }
+
+        @SuppressWarnings("unchecked")
+        void setResult(Object partial) {
+            result = (P) partial;
+        }
+    }
+
+    public static class GroupCount extends Aggregation<long[]> {
+        private final IntUnaryOperator key;
+        private final int keySpace;
+
+        GroupCount(IntPredicate filter, IntUnaryOperator key, int keySpace) {
+            super(filter);
+            this.key = key;
+            this.keySpace = keySpace;
+        }
+
+        long[] newPartial() { return new long[keySpace]; }
+        void accumulate(long[] counts, int row) { counts[key.applyAsInt(row)]++; }
+        long[] merge(long[] left, long[] right) {
+            for (int k = 0; k < keySpace; k++) left[k] += right[k];
+            return left;
+        }
+
+        public long count(int key) {
+            return key < 0 || key >= keySpace ? 0L : result[key];
+        }
+    }
+
+    public static class DistinctSet extends Aggregation<BitSet> {
+        private final IntUnaryOperator key;
+
+        DistinctSet(IntPredicate filter, IntUnaryOperator key) {
+            super(filter);
+            this.key = key;
+        }
+
+        BitSet newPartial() { return new BitSet(); }
+        void accumulate(BitSet seen, int row) { seen.set(key.applyAsInt(row)); }
+        BitSet merge(BitSet left, BitSet right) {
+            left.or(right);
+            return left;
+        }
+
+        public BitSet codes() {
+            return result;
+        }
+    }
+
+    public static class FilteredSubset extends Aggregation<IntList> {
+        FilteredSubset(IntPredicate filter) {
+            super(filter);
+        }
+
+        IntList newPartial() { return new IntList(); }
+        void accumulate(IntList rows, int row) { rows.add(row); }
+        IntList merge(IntList left, IntList right) {
+            left.addAll(right);
+            return left;
+        }
+
+        public int size() {
+            return result.size();
+        }
+
+        public int row(int i) {
+            return result.get(i);
+        }
+    }
+
+    public static class GroupSketch extends Aggregation<HyperLogLog[]> {
+        private final IntUnaryOperator key;
+        private final IntToLongFunction valueHash;
+        private final int keySpace;
+        private final int precision;
+
+        GroupSketch(IntPredicate filter, IntUnaryOperator key, int keySpace, IntToLongFunction valueHash, int precision) {
+            super(filter);
+            this.key = key;
+            this.keySpace = keySpace;
+            this.valueHash = valueHash;
+            this.precision = precision;
+        }
+
+        // sketches are created on first use, so empty groups cost nothing
+        HyperLogLog[] newPartial() { return new HyperLogLog[keySpace]; }
+        void accumulate(HyperLogLog[] sketches, int row) {
+            int k = key.applyAsInt(row);
+            if (sketches[k] == null) sketches[k] = new HyperLogLog(precision);
+            sketches[k].addHash(valueHash.applyAsLong(row));
+        }
+        HyperLogLog[] merge(HyperLogLog[] left, HyperLogLog[] right) {
+            for (int k = 0; k < keySpace; k++) {
+                if (right[k] == null) continue;
+                if (left[k] == null) left[k] = right[k];
+                else left[k].merge(right[k]);
+            }
+            return left;
+        }
+
+        // Estimated distinct values for key, 0 if the key never occurred
+        public double estimate(int key) {
+            return key < 0 || key >= keySpace || result[key] == null ? 0.0 : result[key].estimate();
+        }
+
+        public long heapBytes() {
+            long bytes = HeapSize.arrayBytes(4, keySpace);
+            for (HyperLogLog h : result) if (h != null) bytes += h.heapBytes();
+            return bytes;
+        }
+    }
+
+    // ---------- Registration ----------
+    public GroupCount groupCount(IntPredicate filter, IntUnaryOperator key, int keySpace) {
+        return register(new GroupCount(filter, key, keySpace));
+    }
+
+    public DistinctSet distinct(IntPredicate filter, IntUnaryOperator key) {
+        return register(new DistinctSet(filter, key));
+    }
+
+    public FilteredSubset subset(IntPredicate filter) {
+        return register(new FilteredSubset(filter));
+    }
+
+    public GroupSketch sketch(IntPredicate filter, IntUnaryOperator key, int keySpace, IntToLongFunction valueHash, int precision) {
+        return register(new GroupSketch(filter, key, keySpace, valueHash, precision));
+    }
+
+    public <A extends Aggregation<?>> A register(A aggregation) {
+        aggregations.add(aggregation);
+        return aggregation;
+    }
+
+    // ---------- Evaluation ----------
+    // Evaluate every registered aggregation in one pass over the table
+    public void run(boolean parallel) {
+        Object[] partials;
+        if (parallel && table.size() > PARALLEL_LEAF_ROWS) {
+            partials = ForkJoinPool.commonPool().invoke(new RangeTask(0, table.size()));
+        } else {
+            partials = scan(0, table.size());
+        }
+        for (int a = 0; a < aggregations.size(); a++) aggregations.get(a).setResult(partials[a]);
+    }
+
+    // The fused pass: every row is offered to every aggregation
+    private Object[] scan(int from, int to) {
+        int n = aggregations.size();
+        Aggregation<?>[] aggs = aggregations.toArray(new Aggregation<?>[0]);
+        Object[] partials = new Object[n];
+        for (int a = 0; a < n; a++) partials[a] = aggs[a].newPartial();
+        for (int row = from; row < to; row++) {
+            for (int a = 0; a < n; a++) aggs[a].accumulateUnchecked(partials[a], row);
+        }
+        return partials;
+    }
+
+    private class RangeTask extends RecursiveTask<Object[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        RangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Object[] compute() {
+            if (to - from <= PARALLEL_LEAF_ROWS) return scan(from, to);
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(from, mid);
+            RangeTask right = new RangeTask(mid, to);
+            right.fork();
+            Object[] l = left.compute();
+            Object[] r = right.join();
+            for (int a = 0; a < l.length; a++) l[a] = aggregations.get(a).mergeUnchecked(l[a], r[a]);
+            return l;
+        }
+    }
+}
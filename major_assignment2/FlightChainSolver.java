@@ -0,0 +1,111 @@
+package major_assignment2;
+
+/**
+ * FlightChainSolver.java
+ *
+ * Exact solver for part 5: the longest chain of connecting flights that starts at one of the
+ * given airports at or after a start time and lands by an end time. A flight g can follow f
+ * if g leaves from f's destination and departs at or after f arrives.
+ *
+ * Flights are the nodes of a DAG ordered by departure, so the longest path is a dynamic program
+ * over the flights in decreasing (departure, row) order:
+ *   chain(f) = 1 + max { chain(g) : origin(g) = dest(f), dep(g) >= arr(f) }
+ * The departures come from a DepartureIndex, and suffixBest[a][k] holds the longest chain
+ * starting with any of the departures k.. of airport a, so the max is one index lookup:
+ * O(F log F) for the sort, O(F) for the dynamic program.
+ *
+ * A flight with zero minutes in the air could otherwise follow itself; a successor is only taken
+ * from the part of the departure list that is already solved (later in (departure, row) order),
+ * which keeps the graph acyclic and every flight used at most once.
+ */
+
+import java.util.Arrays;
+
+public class FlightChainSolver {
+    private final FlightTable t;
+    private final DepartureIndex departures;
+    private final long start, end;
+
+    public FlightChainSolver(FlightTable t, DepartureIndex departures, long startEpochMin, long endEpochMin) {
+        this.t = t;
+        this.departures = departures;
+        this.start = startEpochMin;
+        this.end = endEpochMin;
+    }
+
+    // Flights that can be part of a chain: inside [start, end]
+    private boolean usable(int row) {
+        return t.arrEpochMin[row] != FlightTable.NA_TIME && t.depEpochMin[row] >= start && t.arrEpochMin[row] <= end;
+    }
+
+    public static class Result {
+        public final int count;
+        public final int[] itinerary; // table rows, in flying order
+        public final long nanos;
+
+        Result(int count, int[] itinerary, long nanos) {
+            this.count = count;
+            this.itinerary = itinerary;
+            this.nanos = nanos;
+        }
+    }
+
+    // ---------- Solve ----------
+    public Result solve(int... startAirports) {
+        long t0 = System.nanoTime();
+        int nAirports = departures.airports();
+        int[][] suffixBest = new int[nAirports][];
+        int[][] suffixFirst = new int[nAirports][];  // first row of that chain
+        int[] solvedFrom = new int[nAirports];       // positions >= solvedFrom[a] are solved
+        int flights = 0;
+        for (int a = 0; a < nAirports; a++) flights += departures.count(a);
+        long[] order = new long[flights];
+        int n = 0;
+        for (int a = 0; a < nAirports; a++) {
+            int[] deps = departures.departures(a);
+            int[] rows = departures.rows(a);
+            suffixBest[a] = new int[deps.length];
+            suffixFirst[a] = new int[deps.length];
+            solvedFrom[a] = deps.length;
+            for (int k = 0; k < deps.length; k++) order[n++] = ((long) deps[k] << 32) | rows[k];
+        }
+        Arrays.sort(order);
+        int[] next = new int[t.size]; // next row of the best chain after a row, -1 at the end
+
+        for (int o = order.length - 1; o >= 0; o--) {
+            int f = (int) order[o];
+            int a = t.origin[f];
+            int p = solvedFrom[a] - 1;
+            int chain = 0;
+            if (usable(f)) {
+                int d = t.dest[f];
+                int k = Math.max(departures.firstAtOrAfter(d, t.arrEpochMin[f]), solvedFrom[d]);
+                chain = 1 + (k < departures.count(d) ? suffixBest[d][k] : 0);
+                next[f] = k < departures.count(d) ? suffixFirst[d][k] : -1;
+            }
+
+            // ties keep the earlier departure
+            if (p + 1 < departures.count(a) && suffixBest[a][p + 1] > chain) {
+                suffixBest[a][p] = suffixBest[a][p + 1];
+                suffixFirst[a][p] = suffixFirst[a][p + 1];
+            } else {
+                suffixBest[a][p] = chain;
+                suffixFirst[a][p] = f;
+            }
+            solvedFrom[a] = p;
+        }
+
+        int best = 0, first = -1;
+        for (int a : startAirports) {
+            if (a < 0 || a >= nAirports) continue;
+            int k = departures.firstAtOrAfter(a, start);
+            if (k < departures.count(a) && suffixBest[a][k] > best) {
+                best = suffixBest[a][k];
+                first = suffixFirst[a][k];
+            }
+        }
+        int[] itinerary = new int[best];
+        for (int i = 0, f = first; i < best; i++, f = next[f]) itinerary[i] = f;
+        return new Result(best, itinerary, System.nanoTime() - t0);
+    }
+}
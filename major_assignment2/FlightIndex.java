@@ -0,0 +1,143 @@
+package major_assignment2;
+
+/**
+ * FlightIndex.java
+ *
+ * Secondary indexes for FlightScheduler. Flights are identified by their scheduler id
+ * (position in the scheduler's flight list).
+ *
+ * - origin, carrier: one BitSet per airport/carrier code (few keys, dense postings)
+ * - date (year, month, day), tailnum: IntList posting lists of ids in insertion order
+ *   (many keys, sparse postings)
+ * - reallocated: BitSet of the ids that were moved to ECI
+ *
+ * Codes come from the index's own FlightSymbols (the ones of the first flight added);
+ * flights loaded with other dictionaries are re-encoded by name.
+ */
+
+import java.util.*;
+
+import major_assignment2.MajorAssignment2.Flight;
+
+class FlightIndex {
+    private FlightSymbols symbols;
+    private final List<BitSet> byOrigin = new ArrayList<>();
+    private final List<BitSet> byCarrier = new ArrayList<>();
+    private final Map<Integer, IntList> byDate = new HashMap<>();
+    private final List<IntList> byTailnum = new ArrayList<>();
+    private final BitSet reallocated = new BitSet();
+
+    // ---------- Maintenance ----------
+    void add(int id, Flight f) {
+        if (symbols == null) symbols = f.symbols;
+        bitmap(byOrigin, originCode(f)).set(id);
+        bitmap(byCarrier, carrierCode(f)).set(id);
+        byDate.computeIfAbsent(dateCode(f.year, f.month, f.day), k -> new IntList()).add(id);
+        postings(byTailnum, tailnumCode(f)).add(id);
+    }
+
+    // Undo add(id, f), used when a flight with the same key replaces an earlier one
+    void remove(int id, Flight f) {
+        bitmap(byOrigin, originCode(f)).clear(id);
+        bitmap(byCarrier, carrierCode(f)).clear(id);
+        IntList day = byDate.get(dateCode(f.year, f.month, f.day));
+        if (day != null) day.removeValue(id);
+        postings(byTailnum, tailnumCode(f)).removeValue(id);
+        reallocated.clear(id);
+    }
+
+    // Call after the flight's origin changed from oldOrigin (a name) to its current origin.
+    // Only looks oldOrigin up: an origin the index has never seen has no postings to clear.
+    void originChanged(int id, String oldOrigin, Flight f) {
+        int oldCode = symbols.airports.idOf(oldOrigin);
+        if (oldCode >= 0 && oldCode < byOrigin.size()) byOrigin.get(oldCode).clear(id);
+        bitmap(byOrigin, originCode(f)).set(id);
+    }
+
+    void markReallocated(int id) {
+        reallocated.set(id);
+    }
+
+    // ---------- Queries (ids in increasing order) ----------
+    int[] byOrigin(String origin) {
+        int code = symbols == null ? -1 : symbols.airports.idOf(origin);
+        return code < 0 || code >= byOrigin.size() ? new int[0] : byOrigin.get(code).stream().toArray();
+    }
+
+    int countByOrigin(String origin) {
+        int code = symbols == null ? -1 : symbols.airports.idOf(origin);
+        return code < 0 || code >= byOrigin.size() ? 0 : byOrigin.get(code).cardinality();
+    }
+
+    int[] byCarrier(String carrier) {
+        int code = symbols == null ? -1 : symbols.carriers.idOf(carrier);
+        return code < 0 || code >= byCarrier.size() ? new int[0] : byCarrier.get(code).stream().toArray();
+    }
+
+    int[] byDate(int year, int month, int day) {
+        IntList ids = byDate.get(dateCode(year, month, day));
+        return sorted(ids);
+    }
+
+    int[] byTailnum(String tailnum) {
+        int code = symbols == null ? -1 : symbols.tailnums.idOf(tailnum);
+        return code < 0 || code >= byTailnum.size() ? new int[0] : sorted(byTailnum.get(code));
+    }
+
+    // Reallocated flights of one carrier on one day: date postings filtered by two bitmaps
+    int[] reallocatedOn(String carrier, int year, int month, int day) {
+        int code = symbols == null ? -1 : symbols.carriers.idOf(carrier);
+        if (code < 0 || code >= byCarrier.size()) return new int[0];
+        BitSet carrierIds = byCarrier.get(code);
+        IntList out = new IntList();
+        for (int id : byDate(year, month, day)) {
+            if (reallocated.get(id) && carrierIds.get(id)) out.add(id);
+        }
+        return out.toArray();
+    }
+
+    // Legs flown by one tailnum in one month: tailnum postings filtered by date
+    int[] tailnumInMonth(String tailnum, int year, int month, List<Flight> flights) {
+        IntList out = new IntList();
+        for (int id : byTailnum(tailnum)) {
+            Flight f = flights.get(id);
+            if (f.year == year && f.month == month) out.add(id);
+        }
+        return out.toArray();
+    }
+
+    // ---------- Helpers ----------
+    static int dateCode(int year, int month, int day) {
+        return year * 372 + (month - 1) * 31 + (day - 1);
+    }
+
+    private int originCode(Flight f) {
+        return f.symbols == symbols ? f.originId : symbols.airports.encode(f.origin());
+    }
+
+    private int carrierCode(Flight f) {
+        return f.symbols == symbols ? f.carrierId : symbols.carriers.encode(f.carrier());
+    }
+
+    private int tailnumCode(Flight f) {
+        return f.symbols == symbols ? f.tailnumId : symbols.tailnums.encode(f.tailnum());
+    }
+
+    private static BitSet bitmap(List<BitSet> index, int code) {
+        while (index.size() <= code) index.add(new BitSet());
+        return index.get(code);
+    }
+
+    private static IntList postings(List<IntList> index, int code) {
+        while (index.size() <= code) index.add(new IntList(4));
+        return index.get(code);
+    }
+
+    // Posting lists are in insertion order, which is increasing except after a replaced flight
+    private static int[] sorted(IntList ids) {
+        if (ids == null) return new int[0];
+        int[] out = ids.toArray();
+        Arrays.sort(out);
+        return out;
+    }
+}
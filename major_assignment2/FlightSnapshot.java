@@ -0,0 +1,204 @@
+package major_assignment2;
+
+/**
+ * FlightSnapshot.java
+ *
+ * Binary snapshot of a parsed, NA-filtered FlightTable so later runs can skip the CSV parse.
+ * The snapshot lives next to the CSV ("flights.csv" -> "flights.csv.snap") and is read with one
+ * FileChannel read into a buffer on reload. It is only used while the CSV's size and
+ * last-modified time match the values recorded in the header; otherwise the CSV is parsed
+ * again and the snapshot rewritten.
+ *
+ * Neither read nor write memory-maps the file: a mapping stays open until its buffer is
+ * garbage collected, and on Windows a mapped file cannot be replaced, so the rewrite would fail.
+ *
+ * Layout (little-endian):
+ *   header, HEADER_SIZE bytes:
+ *     long magic, int version, int rows, long csvSize, long csvMtime, long payloadLength, long crc32
+ *   payload (crc32 covers exactly these bytes):
+ *     3 dictionaries (carriers, airports, tailnums): int count, then per symbol short length + UTF-8 bytes
+ *     zero padding up to a multiple of 8
+ *     columns in this order: long depEpochMin, arrEpochMin;
+ *       int year, month, day, depTime, arrTime, airTime, flight, distance, tailnum;
+ *       short carrier, origin, dest
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class FlightSnapshot {
+    static final long MAGIC = 0x3150414E53544C46L; // "FLTSNAP1" as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int ROW_BYTES = 2 * 8 + 9 * 4 + 3 * 2; // column bytes per row
+
+    public static Path snapshotPathFor(String csvFilePath) {
+        return Paths.get(csvFilePath + ".snap");
+    }
+
+    /**
+     * Read the snapshot of csvFilePath and rebuild the table from it.
+     * Returns null if there is no snapshot, it was written for a different version of the CSV,
+     * or it fails the format/checksum checks (including a header whose row count does not match
+     * the payload).
+     */
+    public static FlightTable readIfFresh(String csvFilePath) throws IOException {
+        Path snap = snapshotPathFor(csvFilePath);
+        Path csv = Paths.get(csvFilePath);
+        if (!Files.exists(snap) || !Files.exists(csv)) return null;
+
+        try (FileChannel ch = FileChannel.open(snap, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_SIZE || ch.size() > Integer.MAX_VALUE) return null;
+            // the header first, so a stale snapshot is rejected without reading the payload
+            ByteBuffer header = readFully(ch, ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+
+            if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION) return null;
+            int rows = header.getInt(12);
+            if (header.getLong(16) != Files.size(csv) || header.getLong(24) != Files.getLastModifiedTime(csv).toMillis()) return null;
+            long payloadLength = header.getLong(32);
+            if (rows < 0 || HEADER_SIZE + payloadLength != ch.size()) return null;
+            // the header is not covered by the crc: a rows count the payload cannot hold must not size the table
+            if ((long) rows * ROW_BYTES > payloadLength) return null;
+
+            ByteBuffer payload = readFully(ch, ByteBuffer.allocate((int) payloadLength).order(ByteOrder.LITTLE_ENDIAN));
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != header.getLong(40)) return null;
+
+            FlightSymbols symbols = new FlightSymbols();
+            try {
+                readDictionary(payload, symbols.carriers);
+                readDictionary(payload, symbols.airports);
+                readDictionary(payload, symbols.tailnums);
+                payload.position(align8(payload.position()));
+            } catch (RuntimeException e) {
+                return null; // dictionary counts or lengths that run past the payload
+            }
+            if (payload.remaining() != (long) rows * ROW_BYTES) return null;
+
+            FlightTable t = new FlightTable(rows, symbols);
+            for (long[] col : new long[][]{t.depEpochMin, t.arrEpochMin}) {
+                payload.asLongBuffer().get(col);
+                payload.position(payload.position() + rows * 8);
+            }
+            for (int[] col : new int[][]{t.year, t.month, t.day, t.depTime, t.arrTime, t.airTime, t.flight, t.distance, t.tailnum}) {
+                payload.asIntBuffer().get(col);
+                payload.position(payload.position() + rows * 4);
+            }
+            for (short[] col : new short[][]{t.carrier, t.origin, t.dest}) {
+                payload.asShortBuffer().get(col);
+                payload.position(payload.position() + rows * 2);
+            }
+            return t;
+        }
+    }
+
+    /**
+     * Write the table as the snapshot of csvFilePath. The file is written under a temporary
+     * name and then moved into place, so a crashed run never leaves a half-written snapshot.
+     */
+    public static void write(FlightTable t, String csvFilePath) throws IOException {
+        Path csv = Paths.get(csvFilePath);
+        Path snap = snapshotPathFor(csvFilePath);
+        Path tmp = Paths.get(snap + ".tmp");
+
+        byte[][][] dicts = {names(t.carriers), names(t.airports), names(t.tailnums)};
+        long dictBytes = 0;
+        for (byte[][] d : dicts) {
+            dictBytes += 4;
+            for (byte[] name : d) dictBytes += 2 + name.length;
+        }
+        long payloadLength = align8(dictBytes) + (long) t.size * ROW_BYTES;
+        if (HEADER_SIZE + payloadLength > Integer.MAX_VALUE) throw new IOException("table too large for a snapshot");
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate((int) (HEADER_SIZE + payloadLength)).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer payload = buf.slice(HEADER_SIZE, (int) payloadLength).order(ByteOrder.LITTLE_ENDIAN);
+
+            for (byte[][] d : dicts) {
+                payload.putInt(d.length);
+                for (byte[] name : d) {
+                    payload.putShort((short) name.length);
+                    payload.put(name);
+                }
+            }
+            while (payload.position() % 8 != 0) payload.put((byte) 0);
+
+            for (long[] col : new long[][]{t.depEpochMin, t.arrEpochMin}) {
+                payload.asLongBuffer().put(col);
+                payload.position(payload.position() + t.size * 8);
+            }
+            for (int[] col : new int[][]{t.year, t.month, t.day, t.depTime, t.arrTime, t.airTime, t.flight, t.distance, t.tailnum}) {
+                payload.asIntBuffer().put(col);
+                payload.position(payload.position() + t.size * 4);
+            }
+            for (short[] col : new short[][]{t.carrier, t.origin, t.dest}) {
+                payload.asShortBuffer().put(col);
+                payload.position(payload.position() + t.size * 2);
+            }
+
+            CRC32 crc = new CRC32();
+            payload.flip();
+            crc.update(payload);
+
+            buf.putLong(0, MAGIC);
+            buf.putInt(8, VERSION);
+            buf.putInt(12, t.size);
+            buf.putLong(16, Files.size(csv));
+            buf.putLong(24, Files.getLastModifiedTime(csv).toMillis());
+            buf.putLong(32, payloadLength);
+            buf.putLong(40, crc.getValue());
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, snap, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Fill buf from the channel's current position and flip it for reading
+    private static ByteBuffer readFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf) < 0) throw new EOFException("snapshot ended early");
+        }
+        return buf.flip();
+    }
+
+    private static byte[][] names(SymbolDictionary dict) throws IOException {
+        byte[][] out = new byte[dict.size()][];
+        for (int id = 0; id < out.length; id++) {
+            out[id] = dict.name(id).getBytes(StandardCharsets.UTF_8);
+            if (out[id].length > Short.MAX_VALUE) throw new IOException("symbol too long for a snapshot: " + dict.name(id));
+        }
+        return out;
+    }
+
+    // Symbols are re-encoded in id order, so they get the same ids as when the snapshot was written
+    private static void readDictionary(ByteBuffer payload, SymbolDictionary dict) {
+        int count = payload.getInt();
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < count; i++) {
+            int len = payload.getShort();
+            if (scratch.length < len) scratch = new byte[len];
+            payload.get(scratch, 0, len);
+            dict.encode(scratch, 0, len);
+        }
+    }
+
+    private static int align8(int n) {
+        return (n + 7) & ~7;
+    }
+
+    private static long align8(long n) {
+        return (n + 7) & ~7L;
+    }
+}
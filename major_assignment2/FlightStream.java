@@ -0,0 +1,161 @@
+package major_assignment2;
+
+/**
+ * FlightStream.java
+ *
+ * Streaming mode for a flights CSV that keeps growing: every poll() parses only the complete
+ * lines appended since the previous poll (FlightsCsvLoader.loadAppended) and folds the new
+ * flights into running aggregates, so the part 1/part 2 answers are up to date after each
+ * batch without rescanning earlier rows:
+ *
+ * - part 1: flights per origin, number of flights leaving LGA (and the first 10 of them)
+ * - part 2: distinct tailnums per carrier, B6 December destinations, origins/destinations and
+ *   the destinations served from LGA
+ * - a FlightScheduler (and its indexes) that gets every new flight
+ *
+ * All batches encode into one FlightSymbols, so codes are stable and the aggregates are arrays
+ * and bitsets indexed by code.
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import major_assignment2.MajorAssignment2.Flight;
+import major_assignment2.MajorAssignment2.FlightScheduler;
+
+public class FlightStream {
+    static final int LGA_SAMPLE = 10;
+
+    private final String csvFilePath;
+    private final FlightsCsvLoader loader;
+    private final FlightSymbols symbols;
+    private final FlightScheduler scheduler = new FlightScheduler();
+    private long offset;  // first byte not parsed yet
+    private long flights, rowsRead, rowsSkippedNA, rowsSkippedMalformed;
+    private int batches;
+
+    // part 1
+    private long[] originCounts = new long[64];
+    private long fromLGA;
+    private final List<Flight> lgaSample = new ArrayList<>();
+    // part 2
+    private final List<BitSet> tailsByCarrier = new ArrayList<>();
+    private final BitSet b6DecemberDests = new BitSet();
+    private final BitSet origins = new BitSet();
+    private final BitSet dests = new BitSet();
+    private final BitSet reachableFromLGA = new BitSet();
+
+    public FlightStream(String csvFilePath) {
+        this.csvFilePath = csvFilePath;
+        this.loader = new FlightsCsvLoader(csvFilePath);
+        this.symbols = loader.getSymbols();
+    }
+
+    // ---------- Ingestion ----------
+    /** Parse and apply the lines appended since the last poll; returns the number of new flights. */
+    public int poll() throws IOException {
+        long size = Files.size(Paths.get(csvFilePath));
+        if (size < offset) throw new IOException(csvFilePath + " shrank from " + offset + " to " + size + " bytes; restart the stream");
+        if (size == offset) return 0;
+
+        List<Flight> batch = loader.loadAppended(offset);
+        offset = loader.getEndOffset();
+        rowsRead += loader.getRowsRead();
+        rowsSkippedNA += loader.getRowsSkippedNA();
+        rowsSkippedMalformed += loader.getRowsSkippedMalformed();
+        if (batch.isEmpty()) return 0;
+
+        int lga = symbols.airports.idOf("LGA");
+        int b6 = symbols.carriers.idOf("B6");
+        for (Flight f : batch) {
+            if (f.originId >= originCounts.length) originCounts = Arrays.copyOf(originCounts, Math.max(f.originId + 1, originCounts.length * 2));
+            originCounts[f.originId]++;
+            if (f.originId == lga) {
+                fromLGA++;
+                if (lgaSample.size() < LGA_SAMPLE) lgaSample.add(f);
+                reachableFromLGA.set(f.destId);
+            }
+            while (tailsByCarrier.size() <= f.carrierId) tailsByCarrier.add(new BitSet());
+            tailsByCarrier.get(f.carrierId).set(f.tailnumId);
+            if (f.carrierId == b6 && f.month == 12) b6DecemberDests.set(f.destId);
+            origins.set(f.originId);
+            dests.set(f.destId);
+        }
+        scheduler.loadFlightsFromList(batch);
+        flights += batch.size();
+        batches++;
+        return batch.size();
+    }
+
+    public FlightScheduler scheduler() {
+        return scheduler;
+    }
+
+    public long flights() {
+        return flights;
+    }
+
+    // ---------- Current answers ----------
+    public long countFrom(String origin) {
+        int code = symbols.airports.idOf(origin);
+        return code < 0 || code >= originCounts.length ? 0 : originCounts[code];
+    }
+
+    public int distinctTailnums(String carrier) {
+        int code = symbols.carriers.idOf(carrier);
+        return code < 0 || code >= tailsByCarrier.size() ? 0 : tailsByCarrier.get(code).cardinality();
+    }
+
+    public Set<String> b6DecemberDestinations() {
+        return MajorAssignment2.decode(b6DecemberDests, symbols.airports);
+    }
+
+    // Airports that appear as origin or destination but are not served directly from LGA
+    public Set<String> notReachableFromLGA() {
+        BitSet out = (BitSet) origins.clone();
+        out.or(dests);
+        out.andNot(reachableFromLGA);
+        int lga = symbols.airports.idOf("LGA");
+        if (lga >= 0) out.clear(lga);
+        return MajorAssignment2.decode(out, symbols.airports);
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Batch %d: %d flights so far (rows read %d, skipped NA/empty %d, malformed %d, %d bytes consumed)%n",
+                batches, flights, rowsRead, rowsSkippedNA, rowsSkippedMalformed, offset));
+        sb.append(String.format("  Part 1: EWR %d, JFK %d, LGA %d; flights leaving LGA %d%n",
+                countFrom("EWR"), countFrom("JFK"), countFrom("LGA"), fromLGA));
+        sb.append(String.format("  Part 2: distinct tailnums UA %d, HA %d, B6 %d; B6 December destinations %d; not reached from LGA %d%n",
+                distinctTailnums("UA"), distinctTailnums("HA"), distinctTailnums("B6"), b6DecemberDestinations().size(),
+                notReachableFromLGA().size()));
+        sb.append("  First flights from LGA: ").append(lgaSample.stream().limit(3).map(Flight::toString).collect(Collectors.joining(" | ")));
+        return sb.toString();
+    }
+
+    // ---------- Tail loop ----------
+    /**
+     * Poll the file every pollMillis and print the updated answers after each batch.
+     * Stops after maxIdlePolls polls in a row without new flights (0 = never).
+     */
+    public static void tail(String csvFilePath, long pollMillis, int maxIdlePolls) throws IOException, InterruptedException {
+        FlightStream stream = new FlightStream(csvFilePath);
+        System.out.println("Tailing " + csvFilePath + " every " + pollMillis + " ms" + (maxIdlePolls > 0 ? " (stops after " + maxIdlePolls + " idle polls)" : ""));
+        int idle = 0;
+        while (maxIdlePolls == 0 || idle < maxIdlePolls) {
+            long t0 = System.nanoTime();
+            int added = stream.poll();
+            if (added > 0) {
+                idle = 0;
+                System.out.printf("+%d flights in %.1f ms%n", added, (System.nanoTime() - t0) / 1e6);
+                System.out.println(stream.report());
+            } else {
+                idle++;
+            }
+            Thread.sleep(pollMillis);
+        }
+    }
+}
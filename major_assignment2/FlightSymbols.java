@@ -0,0 +1,120 @@
+package major_assignment2;
+
+/**
+ * FlightSymbols.java
+ *
+ * The symbol dictionaries shared by all flights of one load: carrier codes, tailnums and
+ * airport codes (origin and dest share the airport dictionary so they can be compared as ints).
+ * Flight and FlightTable store the ids; names are only looked up for printing.
+ *
+ * Each column also keeps counters: which ids occur in it, how many values were encoded and
+ * how many bytes one String per value would have cost. That gives the "bytes saved" report.
+ */
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class FlightSymbols {
+    final SymbolDictionary carriers = new SymbolDictionary();
+    final SymbolDictionary airports = new SymbolDictionary();
+    final SymbolDictionary tailnums = new SymbolDictionary();
+
+    final Column carrier = new Column("carrier", carriers);
+    final Column tailnum = new Column("tailnum", tailnums);
+    final Column origin = new Column("origin", airports);
+    final Column dest = new Column("dest", airports);
+
+    // Usage counters of one CSV column that is encoded through a dictionary
+    static class Column {
+        final String name;
+        final SymbolDictionary dict;
+        final BitSet seen = new BitSet();   // ids that occur in this column
+        long values;                        // number of encoded values
+        long stringBytes;                   // heap one String per value would have taken
+
+        Column(String name, SymbolDictionary dict) {
+            this.name = name;
+            this.dict = dict;
+        }
+
+        int encode(byte[] buf, int off, int len) {
+            int id = dict.encode(buf, off, len);
+            count(id, len);
+            return id;
+        }
+
+        int encode(String symbol) {
+            int id = dict.encode(symbol);
+            count(id, symbol.length());
+            return id;
+        }
+
+        private void count(int id, int length) {
+            seen.set(id);
+            values++;
+            stringBytes += 24 + HeapSize.arrayBytes(1, length);
+        }
+
+        int distinct() {
+            return seen.cardinality();
+        }
+    }
+
+    /**
+     * Add all symbols and counters of another FlightSymbols (e.g. the one used by a parallel
+     * chunk) to this one. Returns the id remapping {carrier, airport, tailnum}: remap[k][oldId] = newId.
+     * Merging chunks in file order hands out the same ids as a sequential load.
+     */
+    int[][] merge(FlightSymbols other) {
+        int[][] remap = extendRemap(other, null);
+        mergeColumn(other.carrier, carrier, remap[0]);
+        mergeColumn(other.origin, origin, remap[1]);
+        mergeColumn(other.dest, dest, remap[1]);
+        mergeColumn(other.tailnum, tailnum, remap[2]);
+        return remap;
+    }
+
+    /**
+     * Bring remap, returned by an earlier call for the same other (or null), up to all symbols
+     * other has now. Only the ids other added since then are encoded here, and the counters are
+     * not touched, so a dictionary that keeps growing (a stream) costs O(new symbols) per call.
+     */
+    int[][] extendRemap(FlightSymbols other, int[][] remap) {
+        if (remap == null) remap = new int[3][0];
+        return new int[][]{extend(remap[0], other.carriers, carriers), extend(remap[1], other.airports, airports),
+                extend(remap[2], other.tailnums, tailnums)};
+    }
+
+    private static int[] extend(int[] map, SymbolDictionary from, SymbolDictionary to) {
+        int known = map.length;
+        if (known == from.size()) return map;
+        map = Arrays.copyOf(map, from.size());
+        for (int id = known; id < map.length; id++) map[id] = to.encode(from.name(id));
+        return map;
+    }
+
+    private static void mergeColumn(Column from, Column to, int[] remap) {
+        for (int id = from.seen.nextSetBit(0); id >= 0; id = from.seen.nextSetBit(id + 1)) to.seen.set(remap[id]);
+        to.values += from.values;
+        to.stringBytes += from.stringBytes;
+    }
+
+    // Heap of the three dictionaries
+    public long heapBytes() {
+        return carriers.heapBytes() + airports.heapBytes() + tailnums.heapBytes();
+    }
+
+    // Per-column distinct counts and the bytes saved compared to one String per value
+    public String report() {
+        StringBuilder sb = new StringBuilder("Symbol dictionaries:");
+        long perValueStrings = 0;
+        for (Column c : new Column[]{carrier, tailnum, origin, dest}) {
+            sb.append(String.format("%n  %-8s %6d distinct of %d values", c.name, c.distinct(), c.values));
+            perValueStrings += c.stringBytes;
+        }
+        long dictBytes = heapBytes();
+        sb.append(String.format("%n  one String per value ~%.1f MB, dictionaries ~%.1f KB, saved ~%.1f MB",
+                perValueStrings / 1e6, dictBytes / 1e3, (perValueStrings - dictBytes) / 1e6));
+        return sb.toString();
+    }
+}
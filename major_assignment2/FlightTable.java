@@ -0,0 +1,136 @@
+package major_assignment2;
+
+/**
+ * FlightTable.java
+ *
+ * Columnar copy of the parsed flights: one primitive array per column, row i of every
+ * array describes the same flight.
+ *
+ * - year, month, day, dep_time, arr_time, air_time, flight, distance -> int[]
+ *   (dep_time/arr_time/air_time use NA for a missing value)
+ * - departure/arrival date-times -> long[] epoch minutes (NA_TIME if missing)
+ * - carrier, origin, dest -> short[] codes, tailnum -> int[] codes: the ids of the
+ *   FlightSymbols dictionaries built by the loader (origin and dest share one airport dictionary)
+ */
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import major_assignment2.MajorAssignment2.Flight;
+
+public class FlightTable {
+    public static final int NA = Integer.MIN_VALUE;
+    public static final long NA_TIME = Long.MIN_VALUE;
+
+    final int size;
+    final int[] year, month, day;
+    final int[] depTime, arrTime, airTime;
+    final int[] flight, distance;
+    final long[] depEpochMin, arrEpochMin;
+    final short[] carrier, origin, dest;
+    final int[] tailnum;
+
+    final FlightSymbols symbols;
+    final SymbolDictionary carriers;
+    final SymbolDictionary airports;
+    final SymbolDictionary tailnums;
+
+    FlightTable(int size, FlightSymbols symbols) {
+        this.size = size;
+        year = new int[size];
+        month = new int[size];
+        day = new int[size];
+        depTime = new int[size];
+        arrTime = new int[size];
+        airTime = new int[size];
+        flight = new int[size];
+        distance = new int[size];
+        depEpochMin = new long[size];
+        arrEpochMin = new long[size];
+        carrier = new short[size];
+        origin = new short[size];
+        dest = new short[size];
+        tailnum = new int[size];
+        this.symbols = symbols;
+        carriers = symbols.carriers;
+        airports = symbols.airports;
+        tailnums = symbols.tailnums;
+    }
+
+    /**
+     * Copy the flights into columns. Codes are the flights' own symbol ids; a flight that was
+     * loaded with different dictionaries is re-encoded by name.
+     */
+    public static FlightTable fromFlights(List<Flight> flights) {
+        FlightSymbols symbols = flights.isEmpty() ? new FlightSymbols() : flights.get(0).symbols;
+        FlightTable t = new FlightTable(flights.size(), symbols);
+        for (int i = 0; i < t.size; i++) {
+            Flight f = flights.get(i);
+            t.year[i] = f.year;
+            t.month[i] = f.month;
+            t.day[i] = f.day;
+            t.depTime[i] = f.dep_time == null ? NA : f.dep_time;
+            t.arrTime[i] = f.arr_time == null ? NA : f.arr_time;
+            t.airTime[i] = f.air_time == null ? NA : f.air_time;
+            t.flight[i] = f.flight;
+            t.distance[i] = f.distance;
+            t.depEpochMin[i] = toEpochMinutes(f.departureDateTime);
+            t.arrEpochMin[i] = toEpochMinutes(f.arrivalDateTime);
+            boolean same = f.symbols == symbols;
+            t.carrier[i] = shortCode(same ? f.carrierId : t.carriers.encode(f.carrier()), "carrier");
+            t.origin[i] = shortCode(same ? f.originId : t.airports.encode(f.origin()), "airport");
+            t.dest[i] = shortCode(same ? f.destId : t.airports.encode(f.dest()), "airport");
+            t.tailnum[i] = same ? f.tailnumId : t.tailnums.encode(f.tailnum());
+        }
+        return t;
+    }
+
+    private static short shortCode(int id, String column) {
+        if (id > Short.MAX_VALUE) throw new IllegalStateException("too many distinct " + column + " codes for a short column");
+        return (short) id;
+    }
+
+    static long toEpochMinutes(LocalDateTime t) {
+        return t == null ? NA_TIME : t.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime fromEpochMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String carrierOf(int row) { return carriers.name(carrier[row]); }
+    public String tailnumOf(int row) { return tailnums.name(tailnum[row]); }
+    public String originOf(int row) { return airports.name(origin[row]); }
+    public String destOf(int row) { return airports.name(dest[row]); }
+
+    // Materialize one row as a Flight object (for printing and for FlightScheduler)
+    public Flight toFlight(int row) {
+        return new Flight(symbols, year[row], month[row], day[row], boxed(depTime[row]), boxed(arrTime[row]), boxed(airTime[row]),
+                carrier[row], tailnum[row], flight[row], origin[row], dest[row], distance[row]);
+    }
+
+    // Same row with the codes remapped into other dictionaries (remap as returned by FlightSymbols.merge)
+    public Flight toFlight(int row, FlightSymbols target, int[][] remap) {
+        return new Flight(target, year[row], month[row], day[row], boxed(depTime[row]), boxed(arrTime[row]), boxed(airTime[row]),
+                remap[0][carrier[row]], remap[2][tailnum[row]], flight[row], remap[1][origin[row]], remap[1][dest[row]], distance[row]);
+    }
+
+    private static Integer boxed(int v) {
+        return v == NA ? null : v;
+    }
+
+    // Heap bytes of all column arrays plus the three dictionaries
+    public long heapBytes() {
+        long bytes = 0;
+        bytes += 9 * HeapSize.arrayBytes(4, size);   // year, month, day, dep/arr/air time, flight, distance, tailnum
+        bytes += 2 * HeapSize.arrayBytes(8, size);   // departure/arrival epoch minutes
+        bytes += 3 * HeapSize.arrayBytes(2, size);   // carrier, origin, dest
+        bytes += symbols.heapBytes();
+        return bytes;
+    }
+}
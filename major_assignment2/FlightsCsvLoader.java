@@ -0,0 +1,492 @@
+package major_assignment2;
+
+/**
+ * FlightsCsvLoader.java
+ *
+ * Memory-mapped loader for the flights CSV written by get_nycflights13_file_script.R.
+ *
+ * - Maps the file through FileChannel.map in windows aligned to line ends
+ * - Finds field boundaries and parses integers straight from the mapped bytes
+ *   (no readLine, no String.split, no replaceAll per field)
+ * - Keeps the header-driven column lookup and the NA/empty-row skipping of the
+ *   original BufferedReader implementation, so it produces the same List<Flight>
+ * - loadParallel() parses the newline-aligned byte ranges on fork-join workers and
+ *   merges them back in the original row order
+ * - carrier, tailnum, origin and dest are looked up in the FlightSymbols dictionaries
+ *   straight from the bytes, so rows only carry int ids and known codes allocate nothing
+ * - loadAppended(offset) parses only the complete lines after a byte offset, for tailing a
+ *   file that is being appended to (FlightStream)
+ *
+ * Line endings: "\n" and "\r\n" are supported. Ranges are cut after a '\n'.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import major_assignment2.MajorAssignment2.Flight;
+
+public class FlightsCsvLoader {
+
+    // Required column names according to nycflights13::flights
+    static final String[] REQUIRED = {"year","month","day","dep_time","arr_time","air_time","carrier","tailnum","flight","origin","dest","distance"};
+
+    // Column roles (index into REQUIRED)
+    private static final int YEAR = 0, MONTH = 1, DAY = 2, DEP_TIME = 3, ARR_TIME = 4, AIR_TIME = 5,
+            CARRIER = 6, TAILNUM = 7, FLIGHT = 8, ORIGIN = 9, DEST = 10, DISTANCE = 11;
+    // Roles encoded through the symbol dictionaries
+    private static final int[] SYMBOL_ROLES = {CARRIER, TAILNUM, ORIGIN, DEST};
+
+    // Size of one mapped range when loading sequentially (ranges end on a line boundary)
+    static final long WINDOW_SIZE = 256L << 20;
+    // Lower bound for a parallel chunk so small files are not split into tiny tasks
+    static final long MIN_PARALLEL_CHUNK = 1L << 20;
+
+    private final String csvFilePath;
+    private final FlightSymbols symbols;
+
+    // Filled in by load()
+    private int headerCount;      // number of columns in the header
+    private int[] columnOfRole;   // role -> header column
+    private long dataStart;       // byte offset of the first data line
+    private long rowsRead;
+    private long rowsSkippedNA;
+    private long rowsSkippedMalformed;
+    private long endOffset;       // byte offset after the last parsed line
+
+    public FlightsCsvLoader(String csvFilePath) {
+        this(csvFilePath, new FlightSymbols());
+    }
+
+    // Loader that encodes into existing dictionaries (ids stay compatible with earlier loads)
+    public FlightsCsvLoader(String csvFilePath, FlightSymbols symbols) {
+        this.csvFilePath = csvFilePath;
+        this.symbols = symbols;
+    }
+
+    /**
+     * Read the CSV into a List<Flight>, skipping any rows that contain "NA" or empty fields
+     * and rows that cannot be parsed. Windows are parsed one after another on the calling thread.
+     */
+    public List<Flight> load() throws IOException {
+        return load(false);
+    }
+
+    /**
+     * Same result as load() (same flights in the same order, same skipped-row counts), but the
+     * file is split into newline-aligned byte ranges that are parsed on fork-join workers.
+     */
+    public List<Flight> loadParallel() throws IOException {
+        return load(true);
+    }
+
+    /**
+     * Incremental load for a file that is being appended to: parse the complete lines from byte
+     * offset fromOffset (0 = the first data line) up to and including the last '\n' of the file.
+     * A last line without '\n' may still be being written and is left for the next call.
+     * getEndOffset() is the offset to pass to the next call. Symbols are encoded into this
+     * loader's dictionaries, so ids stay stable across calls that share them.
+     */
+    public List<Flight> loadAppended(long fromOffset) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            long size = ch.size();
+            readHeader(ch, size);
+            long from = Math.max(fromOffset, dataStart);
+            long to = Math.max(from, lastLineEnd(ch, from, size));
+            return load(ch, from, to, false);
+        }
+    }
+
+    private List<Flight> load(boolean parallel) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            long size = ch.size();
+            readHeader(ch, size);
+            return load(ch, dataStart, size, parallel);
+        }
+    }
+
+    // Parse the lines of [from, to), which must start at a line start
+    private List<Flight> load(FileChannel ch, long from, long to, boolean parallel) throws IOException {
+        long chunkSize = WINDOW_SIZE;
+        if (parallel) {
+            // a few chunks per worker so uneven chunks still balance out
+            int workers = ForkJoinPool.commonPool().getParallelism();
+            chunkSize = Math.max(MIN_PARALLEL_CHUNK, Math.min(WINDOW_SIZE, (to - from) / (workers * 4L) + 1));
+        }
+        long[] bounds = splitRanges(ch, from, to, chunkSize);
+        endOffset = to;
+        int nChunks = bounds.length - 1;
+
+        Chunk[] chunks = new Chunk[nChunks];
+        if (parallel && nChunks > 1) {
+            try {
+                ForkJoinPool.commonPool().invoke(new ParseChunksTask(ch, bounds, chunks, 0, nChunks));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } else {
+            for (int i = 0; i < nChunks; i++) chunks[i] = parseChunk(ch, bounds[i], bounds[i + 1], symbols);
+        }
+
+        // merge in original row order
+        int total = 0;
+        rowsRead = 0;
+        rowsSkippedNA = 0;
+        rowsSkippedMalformed = 0;
+        for (Chunk c : chunks) {
+            total += c.flights.size();
+            rowsRead += c.rowsRead;
+            rowsSkippedNA += c.rowsSkippedNA;
+            rowsSkippedMalformed += c.rowsSkippedMalformed;
+        }
+        List<Flight> flights = new ArrayList<>(total);
+        for (Chunk c : chunks) {
+            if (c.symbols != symbols) {
+                // chunk-local ids -> shared ids, in file order so ids match a sequential load
+                int[][] remap = symbols.merge(c.symbols);
+                for (Flight f : c.flights) {
+                    f.carrierId = remap[0][f.carrierId];
+                    f.originId = remap[1][f.originId];
+                    f.destId = remap[1][f.destId];
+                    f.tailnumId = remap[2][f.tailnumId];
+                    f.symbols = symbols;
+                }
+            }
+            flights.addAll(c.flights);
+        }
+        return flights;
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getEndOffset() { return endOffset; }
+    public long getRowsSkippedNA() { return rowsSkippedNA; }
+    public long getRowsSkippedMalformed() { return rowsSkippedMalformed; }
+    public FlightSymbols getSymbols() { return symbols; }
+
+    // ---------- Byte ranges ----------
+    // Offset just after the last '\n' in [from, size), or from if there is none
+    static long lastLineEnd(FileChannel ch, long from, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long pos = size;
+        while (pos > from) {
+            int n = (int) Math.min(probe.capacity(), pos - from);
+            probe.clear().limit(n);
+            long at = pos - n;
+            int read = 0;
+            while (read < n) {
+                int r = ch.read(probe, at + read);
+                if (r <= 0) throw new IOException("could not read CSV bytes at offset " + (at + read));
+                read += r;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                if (probe.get(i) == '\n') return at + i + 1;
+            }
+            pos = at;
+        }
+        return from;
+    }
+
+    /**
+     * Split [from, size) into ranges of roughly chunkSize bytes. Every boundary except the
+     * last one is placed just after a '\n', so each range holds complete lines only.
+     */
+    static long[] splitRanges(FileChannel ch, long from, long size, long chunkSize) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(from);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long pos = from;
+        while (pos < size) {
+            long next = pos + chunkSize;
+            if (next >= size) {
+                next = size;
+            } else {
+                // move forward to the byte after the next '\n'
+                long scan = next - 1;
+                long found = -1;
+                while (found < 0 && scan < size) {
+                    probe.clear();
+                    int n = ch.read(probe, scan);
+                    if (n <= 0) break;
+                    for (int i = 0; i < n; i++) {
+                        if (probe.get(i) == '\n') { found = scan + i; break; }
+                    }
+                    scan += n;
+                }
+                next = found < 0 ? size : found + 1;
+            }
+            if (next - pos > Integer.MAX_VALUE) throw new IOException("CSV line too long to map at offset " + pos);
+            bounds.add(next);
+            pos = next;
+        }
+        long[] out = new long[bounds.size()];
+        for (int i = 0; i < out.length; i++) out[i] = bounds.get(i);
+        return out;
+    }
+
+    // Parsed content of one byte range
+    static class Chunk {
+        List<Flight> flights;
+        FlightSymbols symbols;   // dictionaries the chunk's ids refer to
+        long rowsRead, rowsSkippedNA, rowsSkippedMalformed;
+    }
+
+    private Chunk parseChunk(FileChannel ch, long start, long end, FlightSymbols chunkSymbols) throws IOException {
+        Chunk c = new Chunk();
+        c.flights = new ArrayList<>();
+        c.symbols = chunkSymbols;
+        if (end > start) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            RowParser parser = new RowParser(chunkSymbols);
+            parser.parse(buf, 0, (int) (end - start), c.flights);
+            c.rowsRead = parser.rowsRead;
+            c.rowsSkippedNA = parser.rowsSkippedNA;
+            c.rowsSkippedMalformed = parser.rowsSkippedMalformed;
+        }
+        return c;
+    }
+
+    // Fork-join task: halves the chunk index range until a single chunk is left, then parses it
+    private class ParseChunksTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel ch;
+        private final long[] bounds;
+        private final Chunk[] out;
+        private final int lo, hi;
+
+        ParseChunksTask(FileChannel ch, long[] bounds, Chunk[] out, int lo, int hi) {
+            this.ch = ch;
+            this.bounds = bounds;
+            this.out = out;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                try {
+                    // each worker fills its own dictionaries; they are merged in chunk order afterwards
+                    out[lo] = parseChunk(ch, bounds[lo], bounds[lo + 1], new FlightSymbols());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParseChunksTask(ch, bounds, out, lo, mid),
+                      new ParseChunksTask(ch, bounds, out, mid, hi));
+        }
+    }
+
+    // ---------- Header ----------
+    // We parse the header to find indices allowing flexible column order.
+    private void readHeader(FileChannel ch, long size) throws IOException {
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, WINDOW_SIZE));
+        int n = buf.limit();
+        int eol = 0;
+        while (eol < n && buf.get(eol) != '\n' && buf.get(eol) != '\r') eol++;
+        if (n == 0) throw new IOException("Empty CSV file");
+        if (eol == n && n < size) throw new IOException("CSV header longer than " + WINDOW_SIZE + " bytes");
+
+        byte[] headerBytes = new byte[eol];
+        buf.get(0, headerBytes);
+        String[] headers = new String(headerBytes, StandardCharsets.UTF_8).split(",");
+        Map<String, Integer> idx = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            String h = headers[i].trim().replaceAll("\"", "");
+            idx.put(h, i);
+        }
+
+        headerCount = headers.length;
+        columnOfRole = new int[REQUIRED.length];
+        for (int r = 0; r < REQUIRED.length; r++) {
+            Integer col = idx.get(REQUIRED[r]);
+            if (col == null) throw new IOException("CSV missing required column: " + REQUIRED[r]);
+            columnOfRole[r] = col;
+        }
+
+        // skip the header line terminator ("\n", "\r" or "\r\n")
+        int start = eol;
+        if (start < n && buf.get(start) == '\r') start++;
+        if (start < n && buf.get(start) == '\n') start++;
+        dataStart = start;
+    }
+
+    // ---------- Row parsing straight from the mapped bytes ----------
+    /**
+     * Parses complete lines of a byte range into Flight objects.
+     * Field boundaries of the current line are kept in two int arrays (trimmed start/end),
+     * and text columns are encoded to dictionary ids from the bytes, so no String is created
+     * except the first time a symbol is seen.
+     */
+    class RowParser {
+        private final FlightSymbols symbols;
+        private int[] fieldStart = new int[Math.max(headerCount, 1)];
+        private int[] fieldEnd = new int[Math.max(headerCount, 1)];
+        private byte[] scratch = new byte[64];
+
+        long rowsRead, rowsSkippedNA, rowsSkippedMalformed;
+
+        RowParser(FlightSymbols symbols) {
+            this.symbols = symbols;
+        }
+
+        void parse(MappedByteBuffer buf, int from, int to, List<Flight> out) {
+            int pos = from;
+            while (pos < to) {
+                // find end of line
+                int eol = pos;
+                while (eol < to) {
+                    byte b = buf.get(eol);
+                    if (b == '\n' || b == '\r') break;
+                    eol++;
+                }
+                parseLine(buf, pos, eol, out);
+                // consume "\n", "\r" or "\r\n"
+                if (eol < to && buf.get(eol) == '\r') eol++;
+                if (eol < to && buf.get(eol) == '\n') eol++;
+                pos = eol;
+            }
+        }
+
+        private void parseLine(MappedByteBuffer buf, int start, int end, List<Flight> out) {
+            rowsRead++;
+
+            // split on ',' and check every field for NA/empty (after trim and quote removal)
+            int nFields = 0;
+            int p = start;
+            while (true) {
+                int q = p;
+                while (q < end && buf.get(q) != ',') q++;
+                if (nFields == fieldStart.length) {
+                    fieldStart = Arrays.copyOf(fieldStart, nFields * 2);
+                    fieldEnd = Arrays.copyOf(fieldEnd, nFields * 2);
+                }
+                // trim (same rule as String.trim: chars <= ' ')
+                int s = p, e = q;
+                while (s < e && (buf.get(s) & 0xff) <= ' ') s++;
+                while (e > s && (buf.get(e - 1) & 0xff) <= ' ') e--;
+                if (isNAorEmpty(buf, s, e)) {
+                    rowsSkippedNA++;
+                    return; // skip cancelled rows
+                }
+                fieldStart[nFields] = s;
+                fieldEnd[nFields] = e;
+                nFields++;
+                if (q >= end) break;
+                p = q + 1;
+            }
+
+            Flight f;
+            try {
+                int year = parseIntField(buf, YEAR, nFields);
+                int month = parseIntField(buf, MONTH, nFields);
+                int day = parseIntField(buf, DAY, nFields);
+
+                Integer dep_time = parseIntegerOrNull(buf, DEP_TIME, nFields);
+                Integer arr_time = parseIntegerOrNull(buf, ARR_TIME, nFields);
+                Integer air_time = parseIntegerOrNull(buf, AIR_TIME, nFields);
+
+                int flight = parseIntField(buf, FLIGHT, nFields);
+                int distance = parseIntField(buf, DISTANCE, nFields);
+                for (int r : SYMBOL_ROLES) role(r, nFields);
+
+                // text columns are encoded only once the row is known to be valid
+                f = new Flight(symbols, year, month, day, dep_time, arr_time, air_time,
+                        -1, -1, flight, -1, -1, distance);
+            } catch (Exception ex) {
+                // Skip malformed row
+                rowsSkippedMalformed++;
+                return;
+            }
+            f.carrierId = symbolField(buf, CARRIER, symbols.carrier);
+            f.tailnumId = symbolField(buf, TAILNUM, symbols.tailnum);
+            f.originId = symbolField(buf, ORIGIN, symbols.origin);
+            f.destId = symbolField(buf, DEST, symbols.dest);
+            out.add(f);
+        }
+
+        private int role(int r, int nFields) {
+            int col = columnOfRole[r];
+            if (col >= nFields) throw new IndexOutOfBoundsException("row has only " + nFields + " fields");
+            return col;
+        }
+
+        private int parseIntField(MappedByteBuffer buf, int r, int nFields) {
+            int col = role(r, nFields);
+            long v = parseDigits(buf, fieldStart[col], fieldEnd[col]);
+            if (v == Long.MIN_VALUE) throw new NumberFormatException("not an int in column " + REQUIRED[r]);
+            return (int) v;
+        }
+
+        private Integer parseIntegerOrNull(MappedByteBuffer buf, int r, int nFields) {
+            int col = role(r, nFields);
+            long v = parseDigits(buf, fieldStart[col], fieldEnd[col]);
+            return v == Long.MIN_VALUE ? null : Integer.valueOf((int) v);
+        }
+
+        // Quote-stripped bytes of the field, looked up in the column's dictionary
+        private int symbolField(MappedByteBuffer buf, int r, FlightSymbols.Column column) {
+            int col = columnOfRole[r];
+            int s = fieldStart[col], e = fieldEnd[col];
+            if (scratch.length < e - s) scratch = new byte[e - s];
+            int n = 0;
+            for (int i = s; i < e; i++) {
+                byte b = buf.get(i);
+                if (b != '"') scratch[n++] = b;
+            }
+            return column.encode(scratch, 0, n);
+        }
+    }
+
+    // "" or "NA" (case-insensitive) once quotes are removed
+    private static boolean isNAorEmpty(MappedByteBuffer buf, int s, int e) {
+        int n = 0;
+        byte c0 = 0, c1 = 0;
+        for (int i = s; i < e; i++) {
+            byte b = buf.get(i);
+            if (b == '"') continue;
+            if (n == 0) c0 = b; else if (n == 1) c1 = b;
+            if (++n > 2) return false;
+        }
+        if (n == 0) return true;
+        return n == 2 && (c0 == 'N' || c0 == 'n') && (c1 == 'A' || c1 == 'a');
+    }
+
+    /**
+     * Integer.parseInt over the quote-stripped bytes [s, e): optional sign followed by ASCII digits.
+     * Returns Long.MIN_VALUE if the field is not a valid int.
+     */
+    static long parseDigits(MappedByteBuffer buf, int s, int e) {
+        boolean negative = false;
+        boolean signSeen = false;
+        int digits = 0;
+        long v = 0;
+        for (int i = s; i < e; i++) {
+            byte b = buf.get(i);
+            if (b == '"') continue;
+            if (digits == 0 && !signSeen && (b == '-' || b == '+')) {
+                negative = b == '-';
+                signSeen = true;
+                continue;
+            }
+            if (b < '0' || b > '9') return Long.MIN_VALUE;
+            v = v * 10 + (b - '0');
+            if (v > (long) Integer.MAX_VALUE + 1) return Long.MIN_VALUE;
+            digits++;
+        }
+        if (digits == 0) return Long.MIN_VALUE;
+        if (negative) v = -v;
+        if (v > Integer.MAX_VALUE || v < Integer.MIN_VALUE) return Long.MIN_VALUE;
+        return v;
+    }
+}
@@ -0,0 +1,336 @@
+package major_assignment2;
+
+/**
+ * FlightsDataGenerator.java
+ *
+ * Writes synthetic flights CSVs in the column layout of nycflights13::flights as exported by
+ * get_nycflights13_file_script.R (quoted header and strings, NA for missing values), for load
+ * tests beyond the 336k real rows and without R or network access.
+ *
+ * Usage: FlightsDataGenerator <out.csv> <rows> [--seed=N] [--na-rate=F] [--return-share=F]
+ *                             [--threads=N] [--year=Y]
+ *
+ * Distributions follow nycflights13: carrier shares and fleet sizes, EWR/JFK/LGA shares, the
+ * most frequent destinations with their distances and time zones (arr_time is local time at
+ * the destination), scheduled departures by hour, delays with a long tail. Rows are spread
+ * evenly over the days of the year, in date order.
+ * - naRate: share of cancelled flights (dep_time, dep_delay, arr_time, arr_delay, air_time NA,
+ *   a third of them also without tailnum); nycflights13 has about 2.5%
+ * - returnShare: share of flights flown back to New York from a destination. nycflights13 only
+ *   has departures from New York (0, the default); a share > 0 gives part 4 and part 5
+ *   connections to follow
+ *
+ * The output only depends on the configuration, not on the number of threads: rows are
+ * generated in blocks of BLOCK_ROWS, each from its own random stream seeded by (seed, block).
+ * Worker threads format blocks into byte buffers; the calling thread writes them to a
+ * FileChannel in block order, with at most 2 blocks per thread waiting.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FlightsDataGenerator {
+    static final int BLOCK_ROWS = 1 << 14;
+
+    static final String HEADER = "\"year\",\"month\",\"day\",\"dep_time\",\"sched_dep_time\",\"dep_delay\",\"arr_time\","
+            + "\"sched_arr_time\",\"arr_delay\",\"carrier\",\"flight\",\"tailnum\",\"origin\",\"dest\",\"air_time\","
+            + "\"distance\",\"hour\",\"minute\",\"time_hour\"\n";
+
+    // ---------- nycflights13 distributions ----------
+    // carrier, flights in 2013, distinct tailnums
+    private static final String[] CARRIERS = {"UA", "B6", "EV", "DL", "AA", "MQ", "US", "9E", "WN", "VX", "FL", "AS", "F9", "YV", "HA", "OO"};
+    private static final int[] CARRIER_FLIGHTS = {58665, 54635, 54173, 48110, 32729, 26397, 20536, 18460, 12275, 5162, 3260, 714, 685, 601, 342, 32};
+    private static final int[] CARRIER_FLEET = {621, 193, 316, 629, 601, 238, 290, 204, 583, 53, 129, 84, 26, 58, 14, 28};
+
+    private static final String[] ORIGINS = {"EWR", "JFK", "LGA"};
+    private static final int[] ORIGIN_FLIGHTS = {120835, 111279, 104662};
+
+    // destination, flights in 2013, miles from New York, hours behind New York
+    private static final String[] DESTS = {"ORD", "ATL", "LAX", "BOS", "MCO", "CLT", "SFO", "FLL", "MIA", "DCA", "DTW", "DFW", "RDU",
+            "TPA", "DEN", "IAH", "MSP", "PBI", "BNA", "LAS", "SJU", "IAD", "BUF", "PHX", "CLE", "STL", "CVG", "SEA", "MSY", "CMH", "PIT",
+            "SAN", "JAX", "AUS", "SLC", "IND", "MCI", "BWI", "HNL", "SJC"};
+    private static final int[] DEST_FLIGHTS = {17283, 17215, 16174, 15508, 14082, 14064, 13331, 12055, 11728, 9705, 9384, 8738, 8163,
+            7466, 7266, 7198, 7185, 6554, 6333, 5997, 5819, 5700, 4681, 4656, 4573, 4339, 3941, 3923, 3799, 3524, 2875,
+            2737, 2720, 2439, 2467, 2077, 2008, 1781, 707, 329};
+    private static final int[] DEST_MILES = {740, 760, 2475, 187, 944, 541, 2586, 1069, 1089, 213, 502, 1391, 427,
+            1005, 1626, 1416, 1029, 1028, 765, 2248, 1598, 228, 301, 2153, 425, 956, 589, 2422, 1183, 483, 340,
+            2446, 828, 1521, 1990, 665, 1113, 184, 4983, 2569};
+    private static final int[] DEST_TZ = {1, 0, 3, 0, 0, 0, 3, 0, 0, 0, 0, 1, 0,
+            0, 2, 1, 1, 0, 1, 3, -1, 0, 0, 2, 0, 1, 0, 3, 1, 0, 0,
+            3, 0, 1, 2, 0, 1, 0, 5, 3};
+
+    // scheduled departures per hour 0..23
+    private static final int[] HOUR_FLIGHTS = {0, 0, 0, 0, 0, 1953, 25951, 22821, 27242, 20312, 16708, 16033, 18181, 19956, 21706,
+            23888, 23002, 24426, 21783, 21441, 16739, 10933, 2639, 1061};
+
+    private static final byte[][] CARRIER_BYTES = bytes(CARRIERS), ORIGIN_BYTES = bytes(ORIGINS), DEST_BYTES = bytes(DESTS);
+    private static final int[] CARRIER_CUM = cumulative(CARRIER_FLIGHTS), ORIGIN_CUM = cumulative(ORIGIN_FLIGHTS),
+            DEST_CUM = cumulative(DEST_FLIGHTS), HOUR_CUM = cumulative(HOUR_FLIGHTS);
+
+    // ---------- Configuration ----------
+    public static class Config {
+        public final long rows;
+        public long seed = 2013;
+        public double naRate = 0.025;
+        public double returnShare = 0.0;
+        public int threads = Runtime.getRuntime().availableProcessors();
+        public int year = 2013;
+
+        public Config(long rows) {
+            if (rows < 0) throw new IllegalArgumentException("rows must be >= 0: " + rows);
+            this.rows = rows;
+        }
+    }
+
+    private final Config cfg;
+    private final int[] monthStartDay;   // first day of year of each month (0-based), 13 entries
+    private final int daysInYear;
+    private final byte[][][] tailnums;   // per carrier
+
+    public FlightsDataGenerator(Config cfg) {
+        if (cfg.naRate < 0 || cfg.naRate > 1 || cfg.returnShare < 0 || cfg.returnShare > 1) {
+            throw new IllegalArgumentException("naRate and returnShare must be in [0, 1]");
+        }
+        this.cfg = cfg;
+        boolean leap = cfg.year % 4 == 0 && (cfg.year % 100 != 0 || cfg.year % 400 == 0);
+        int[] lengths = {31, leap ? 29 : 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+        monthStartDay = new int[13];
+        for (int m = 0; m < 12; m++) monthStartDay[m + 1] = monthStartDay[m] + lengths[m];
+        daysInYear = monthStartDay[12];
+
+        // tailnums look like N123UA: fleet index + a carrier suffix
+        tailnums = new byte[CARRIERS.length][][];
+        for (int c = 0; c < CARRIERS.length; c++) {
+            tailnums[c] = new byte[CARRIER_FLEET[c]][];
+            for (int i = 0; i < CARRIER_FLEET[c]; i++) {
+                tailnums[c][i] = ("N" + (100 + i) + CARRIERS[c]).getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    // ---------- Writing ----------
+    /** Write the CSV (header + cfg.rows rows) to csv, replacing it. Returns the number of bytes written. */
+    public long write(Path csv) throws IOException {
+        long blocks = (cfg.rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        int threads = Math.max(1, cfg.threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "flights-generator");
+            t.setDaemon(true);
+            return t;
+        });
+        try (FileChannel out = FileChannel.open(csv, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long written = writeFully(out, ByteBuffer.wrap(HEADER.getBytes(StandardCharsets.US_ASCII)));
+            ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+            long next = 0;
+            while (next < blocks || !pending.isEmpty()) {
+                while (next < blocks && pending.size() < 2 * threads) {
+                    long block = next++;
+                    pending.add(pool.submit(() -> block(block)));
+                }
+                written += writeFully(out, pending.poll().get());
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while generating " + csv, e);
+        } catch (ExecutionException e) {
+            throw new IOException("generating " + csv + " failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+        long n = buf.remaining();
+        while (buf.hasRemaining()) out.write(buf);
+        return n;
+    }
+
+    // Rows [block * BLOCK_ROWS, ...) as CSV lines, from the block's own random stream
+    ByteBuffer block(long block) {
+        SplittableRandom rnd = new SplittableRandom(mix(cfg.seed + block * 0x9E3779B97F4A7C15L));
+        long from = block * BLOCK_ROWS, to = Math.min(cfg.rows, from + BLOCK_ROWS);
+        LineBuilder line = new LineBuilder((int) (to - from) * 120);
+        for (long row = from; row < to; row++) row(rnd, row, line);
+        return line.toBuffer();
+    }
+
+    private void row(SplittableRandom rnd, long row, LineBuilder out) {
+        int dayOfYear = (int) (row * daysInYear / Math.max(1, cfg.rows));
+        int month = 1;
+        while (dayOfYear >= monthStartDay[month]) month++;
+        int day = dayOfYear - monthStartDay[month - 1] + 1;
+
+        int c = pick(rnd, CARRIER_CUM);
+        int d = pick(rnd, DEST_CUM);
+        boolean toNewYork = rnd.nextDouble() < cfg.returnShare;
+        int nyc = pick(rnd, ORIGIN_CUM);
+        // local clock offsets of both ends, in minutes behind New York
+        int originTz = toNewYork ? DEST_TZ[d] * 60 : 0, destTz = toNewYork ? 0 : DEST_TZ[d] * 60;
+
+        int schedHour = pick(rnd, HOUR_CUM);
+        int schedDep = schedHour * 60 + rnd.nextInt(60);
+        int airTime = DEST_MILES[d] * 60 / 480 + 5 + rnd.nextInt(-5, 20);
+        int schedArr = Math.floorMod(schedDep + airTime + 20 + originTz - destTz, 1440);
+        int r = rnd.nextInt(100);
+        int depDelay = r < 60 ? rnd.nextInt(-15, 1) : r < 90 ? rnd.nextInt(1, 61) : rnd.nextInt(61, 301);
+        int arrDelay = depDelay + rnd.nextInt(-20, 16);
+        boolean cancelled = rnd.nextDouble() < cfg.naRate;
+        boolean noTail = cancelled && rnd.nextInt(3) == 0;
+        int tail = rnd.nextInt(tailnums[c].length);
+        int flight = 1 + rnd.nextInt(c < 3 ? 6200 : 2500);
+
+        out.putInt(cfg.year).comma().putInt(month).comma().putInt(day).comma();
+        if (cancelled) out.na().comma();
+        else out.putInt(hhmm(schedDep + depDelay)).comma();
+        out.putInt(hhmm(schedDep)).comma();
+        if (cancelled) out.na().comma();
+        else out.putInt(depDelay).comma();
+        if (cancelled) out.na().comma();
+        else out.putInt(hhmm(schedArr + arrDelay)).comma();
+        out.putInt(hhmm(schedArr)).comma();
+        if (cancelled) out.na().comma();
+        else out.putInt(arrDelay).comma();
+        out.quoted(CARRIER_BYTES[c]).comma().putInt(flight).comma();
+        if (noTail) out.na().comma();
+        else out.quoted(tailnums[c][tail]).comma();
+        out.quoted(toNewYork ? DEST_BYTES[d] : ORIGIN_BYTES[nyc]).comma();
+        out.quoted(toNewYork ? ORIGIN_BYTES[nyc] : DEST_BYTES[d]).comma();
+        if (cancelled) out.na().comma();
+        else out.putInt(airTime).comma();
+        out.putInt(DEST_MILES[d]).comma().putInt(schedHour).comma().putInt(schedDep % 60).comma();
+        // "2013-01-01 05:00:00"
+        out.put('"').putInt(cfg.year).put('-').put2(month).put('-').put2(day).put(' ').put2(schedHour).putAscii(":00:00\"\n");
+    }
+
+    // ---------- Helpers ----------
+    // hhmm clock time of a minute offset, wrapped to one day (like dep_time/arr_time)
+    private static int hhmm(int minutes) {
+        int m = Math.floorMod(minutes, 1440);
+        return m / 60 * 100 + m % 60;
+    }
+
+    private static int pick(SplittableRandom rnd, int[] cumulative) {
+        int x = rnd.nextInt(cumulative[cumulative.length - 1]);
+        int i = Arrays.binarySearch(cumulative, x + 1);
+        return i >= 0 ? firstOf(cumulative, i) : -i - 1;
+    }
+
+    // cumulative has repeated values for zero weights; the first index with that value is not picked
+    private static int firstOf(int[] cumulative, int i) {
+        while (i > 0 && cumulative[i - 1] == cumulative[i]) i--;
+        return i;
+    }
+
+    private static int[] cumulative(int[] weights) {
+        int[] out = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) out[i] = sum += weights[i];
+        return out;
+    }
+
+    private static byte[][] bytes(String[] names) {
+        byte[][] out = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) out[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+        return out;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ASCII line buffer: ints are written digit by digit, no String per field
+    private static final class LineBuilder {
+        private byte[] buf;
+        private int pos;
+
+        LineBuilder(int capacity) {
+            buf = new byte[Math.max(capacity, 256)];
+        }
+
+        LineBuilder put(char ch) {
+            if (pos == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[pos++] = (byte) ch;
+            return this;
+        }
+
+        LineBuilder comma() {
+            return put(',');
+        }
+
+        LineBuilder na() {
+            return put('N').put('A');
+        }
+
+        LineBuilder putAscii(String s) {
+            for (int i = 0; i < s.length(); i++) put(s.charAt(i));
+            return this;
+        }
+
+        LineBuilder quoted(byte[] s) {
+            put('"');
+            for (byte b : s) put((char) b);
+            return put('"');
+        }
+
+        LineBuilder put2(int v) {
+            return put((char) ('0' + v / 10)).put((char) ('0' + v % 10));
+        }
+
+        LineBuilder putInt(int v) {
+            if (v < 0) {
+                put('-');
+                v = -v;
+            }
+            if (v >= 10) putInt(v / 10);
+            return put((char) ('0' + v % 10));
+        }
+
+        ByteBuffer toBuffer() {
+            return ByteBuffer.wrap(buf, 0, pos);
+        }
+    }
+
+    // ---------- main ----------
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: FlightsDataGenerator <out.csv> <rows> [--seed=N] [--na-rate=F] [--return-share=F] [--threads=N] [--year=Y]");
+            System.exit(2);
+        }
+        Config cfg = new Config(Long.parseLong(args[1]));
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--seed=")) cfg.seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.startsWith("--na-rate=")) cfg.naRate = Double.parseDouble(arg.substring("--na-rate=".length()));
+            else if (arg.startsWith("--return-share=")) cfg.returnShare = Double.parseDouble(arg.substring("--return-share=".length()));
+            else if (arg.startsWith("--threads=")) cfg.threads = Integer.parseInt(arg.substring("--threads=".length()));
+            else if (arg.startsWith("--year=")) cfg.year = Integer.parseInt(arg.substring("--year=".length()));
+        }
+
+        Path out = Paths.get(args[0]);
+        try {
+            long t0 = System.nanoTime();
+            long bytes = new FlightsDataGenerator(cfg).write(out);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("Wrote %d rows (%.1f MB) to %s in %.2f s: %.0f rows/sec, %.1f MB/s (%d threads, seed %d)%n",
+                    cfg.rows, bytes / 1e6, out, seconds, cfg.rows / seconds, bytes / 1e6 / seconds, cfg.threads, cfg.seed);
+        } catch (IOException e) {
+            System.err.println("Failed to write " + out + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package major_assignment2;
+
+/**
+ * HeapSize.java
+ *
+ * Shallow heap-size arithmetic used by the memory reports.
+ * Assumes a 64-bit HotSpot JVM with compressed oops: 12-byte object headers, 16-byte array
+ * headers, 4-byte references, 8-byte alignment and Latin-1 compact strings.
+ */
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import major_assignment2.MajorAssignment2.Flight;
+
+class HeapSize {
+    static final int REF = 4;
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long arrayBytes(int elementSize, long length) {
+        return align(16 + elementSize * length);
+    }
+
+    static long stringBytes(String s) {
+        return s == null ? 0 : 24 + arrayBytes(1, s.length());
+    }
+
+    /**
+     * HashSet<String> holding n strings, with the strings themselves (one String per element,
+     * as a Set built from parsed rows holds).
+     */
+    static long stringSetBytes(Iterable<String> elements, int n) {
+        int table = Integer.highestOneBit(Math.max(16, (int) Math.ceil(n / 0.75) - 1)) << 1;
+        long bytes = 16 + 48 + arrayBytes(REF, table) + (long) n * 32;   // HashSet, HashMap, table, nodes
+        for (String s : elements) bytes += stringBytes(s);
+        return bytes;
+    }
+
+    // Values -128..127 come from the Integer cache and cost nothing extra
+    static long integerBytes(Integer i) {
+        return i == null || (i >= -128 && i <= 127) ? 0 : 16;
+    }
+
+    // LocalDateTime (24) + its LocalDate (24) + its LocalTime (24, unless it is a cached whole hour)
+    static long dateTimeBytes(LocalDateTime t, LocalDateTime sharesDateWith) {
+        if (t == null || t == sharesDateWith) return 0;
+        long bytes = 24;
+        if (sharesDateWith == null || t.toLocalDate() != sharesDateWith.toLocalDate()) bytes += 24;
+        LocalTime time = t.toLocalTime();
+        if (time != LocalTime.of(time.getHour(), 0)) bytes += 24;
+        return bytes;
+    }
+
+    /**
+     * Heap retained by a List<Flight> as produced by the CSV loader: the ArrayList, every Flight
+     * object and the Integers and date/time objects it points to. The symbol dictionaries are
+     * shared by all rows and counted once.
+     */
+    static long flightListBytes(List<Flight> flights) {
+        long bytes = 24 + arrayBytes(REF, flights.size());
+        for (Flight f : flights) {
+            // header + 9 ints + 6 references
+            bytes += align(12 + 9 * 4 + 6 * REF);
+            bytes += integerBytes(f.dep_time) + integerBytes(f.arr_time) + integerBytes(f.air_time);
+            bytes += dateTimeBytes(f.departureDateTime, null);
+            bytes += dateTimeBytes(f.arrivalDateTime, f.departureDateTime);
+        }
+        if (!flights.isEmpty()) bytes += flights.get(0).symbols.heapBytes();
+        return bytes;
+    }
+}
@@ -0,0 +1,101 @@
+package major_assignment2;
+
+/**
+ * HyperLogLog.java
+ *
+ * Approximate distinct counting (Flajolet et al.) in 2^precision one-byte registers.
+ * Values are added as 64-bit hashes (hash(String) for symbols). The top precision bits of a
+ * hash pick a register, which keeps the longest run of leading zeros (+1) seen in the rest.
+ * Standard error is about 1.04 / sqrt(2^precision); small cardinalities use linear counting.
+ *
+ * Sketches with the same precision merge by taking the register-wise maximum, so partitions
+ * can be counted separately (e.g. on fork-join workers) and combined afterwards.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+public class HyperLogLog {
+    public static final int MIN_PRECISION = 4, MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be in [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // leading zeros of the remaining bits; the sentinel bit caps the run at 64 - precision
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) throw new IllegalArgumentException("cannot merge precision " + other.precision + " into " + precision);
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+        }
+    }
+
+    public double estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double raw = alpha(m) * m * (double) m / sum;
+        if (raw <= 2.5 * m && zeros > 0) return m * Math.log((double) m / zeros); // linear counting
+        return raw;
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public long heapBytes() {
+        return 16 + HeapSize.arrayBytes(1, registers.length);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16: return 0.673;
+            case 32: return 0.697;
+            case 64: return 0.709;
+            default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    // ---------- Hashing ----------
+    // 64-bit hash of a symbol's UTF-8 bytes (FNV-1a, then a murmur3 finalizer to spread the bits)
+    public static long hash(String symbol) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : symbol.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // hash(name) of every symbol of a dictionary, indexed by id
+    static long[] hashes(SymbolDictionary dict) {
+        long[] out = new long[dict.size()];
+        for (int id = 0; id < out.length; id++) out[id] = hash(dict.name(id));
+        return out;
+    }
+}
@@ -0,0 +1,61 @@
+package major_assignment2;
+
+/**
+ * IntList.java
+ *
+ * Growable int array (no boxing), used for row-id and flight-id posting lists.
+ */
+
+import java.util.Arrays;
+
+class IntList {
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    void add(int v) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = v;
+    }
+
+    void addAll(IntList other) {
+        if (size + other.size > values.length) values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    // Removes the first occurrence of v, keeping the order of the other values
+    boolean removeValue(int v) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == v) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int get(int i) {
+        return values[i];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    long heapBytes() {
+        return 16 + HeapSize.arrayBytes(4, values.length);
+    }
+}
@@ -0,0 +1,54 @@
+package major_assignment2;
+
+/**
+ * LongHashSet.java
+ *
+ * Open-addressing (linear probing) set of non-negative long keys in one primitive array.
+ */
+
+import java.util.Arrays;
+
+class LongHashSet {
+    static final long EMPTY = -1L;   // keys must be >= 0
+
+    private long[] keys;
+    private int size;
+
+    LongHashSet() {
+        keys = new long[16];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Returns true if the key was not in the set yet
+    boolean add(long key) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) return false;
+        keys[slot] = key;
+        if (++size * 2 > keys.length) rehash();
+        return true;
+    }
+
+    boolean contains(long key) {
+        return keys[slotOf(key)] == key;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = LongIntHashMap.mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash() {
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (long k : old) {
+            if (k != EMPTY) keys[slotOf(k)] = k;
+        }
+    }
+}
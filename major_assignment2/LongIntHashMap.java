@@ -0,0 +1,102 @@
+package major_assignment2;
+
+/**
+ * LongIntHashMap.java
+ *
+ * Open-addressing (linear probing) map from non-negative long keys to int values,
+ * backed by two primitive arrays: no boxing and no entry objects.
+ */
+
+import java.util.Arrays;
+
+class LongIntHashMap {
+    static final long EMPTY = -1L;   // keys must be >= 0
+    static final int MISSING = -1;   // returned by get() for absent keys
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        this(16);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Independent copy with room for at least expectedSize keys
+    LongIntHashMap copy(int expectedSize) {
+        LongIntHashMap out = new LongIntHashMap(Math.max(expectedSize, size));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) out.put(keys[i], values[i]);
+        }
+        return out;
+    }
+
+    // Returns the previous value for key, or MISSING
+    int put(long key, int value) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            int old = values[slot];
+            values[slot] = value;
+            return old;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) rehash();
+        return MISSING;
+    }
+
+    int get(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : MISSING;
+    }
+
+    boolean containsKey(long key) {
+        return keys[slotOf(key)] == key;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long heapBytes() {
+        return 24 + HeapSize.arrayBytes(8, keys.length) + HeapSize.arrayBytes(4, values.length);
+    }
+
+    // Slot holding key, or the empty slot where it would go
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int slot = slotOf(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
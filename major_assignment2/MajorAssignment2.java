@@ -1,628 +1,979 @@
-package major_assignment2;
-
-/**
- * MajorAssignment2.java
- *
- * Complete solution for Major Assignment 2 (CompThinking&BigData) in Java.
- *
- * - Reads a CSV created from R's nycflights13::flights
- * - Filters out rows with any NA/empty fields
- * - Implements Parts 1-5 as required:
- * Part1: counts by origin + LGA-specific queries
- * Part2: tailnum analysis, December B6 destinations, unreachable from LGA
- * Part3: reallocation to ECI and FlightScheduler class using HashSet/HashMap
- * Part4: graph analysis (2- and 3-flight reachability from EWR)
- * Part5: maximum number of flights in 2013 starting 1 Jan 2013 05:00 (beam search)
- *
- * Usage: edit CSV_FILE path in main() or pass args[0] as path.
- *
- * NOTE: this is a single-file solution for clarity. In production you might split classes.
- */
-
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.LocalDate;
-import java.time.Duration;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.stream.Collectors;
-
-public class MajorAssignment2 {
-
-    // ---------- Helper data classes ----------
-    static class Flight {
-        // Fields from nycflights13::flights (subset used)
-        int year, month, day;
-        Integer dep_time; // numeric like 517 for 5:17am or possibly NA (we filter NA out)
-        Integer arr_time;
-        Integer air_time; // minutes
-        String carrier;
-        String tailnum;
-        int flight; // flight number
-        String origin;
-        String dest;
-        int distance; // miles
-
-        // Derived departure/arrival LocalDateTime (calculated using dep_time and arr_time)
-        // We'll compute a departure datetime assuming the hhmm integer format
-        LocalDateTime departureDateTime;
-        LocalDateTime arrivalDateTime;
-
-        public Flight(int year, int month, int day, Integer dep_time, Integer arr_time, Integer air_time,
-                      String carrier, String tailnum, int flight, String origin, String dest, int distance) {
-            this.year = year;
-            this.month = month;
-            this.day = day;
-            this.dep_time = dep_time;
-            this.arr_time = arr_time;
-            this.air_time = air_time;
-            this.carrier = carrier;
-            this.tailnum = tailnum;
-            this.flight = flight;
-            this.origin = origin;
-            this.dest = dest;
-            this.distance = distance;
-
-            if (dep_time != null) {
-                this.departureDateTime = convertToDateTime(year, month, day, dep_time);
-            } else {
-                this.departureDateTime = null;
-            }
-            if (dep_time != null && air_time != null) {
-                this.arrivalDateTime = this.departureDateTime.plusMinutes(air_time);
-            } else if (arr_time != null) {
-                // fallback if air_time exists but arrival time not consistent: convert arr_time to datetime
-                this.arrivalDateTime = convertToDateTime(year, month, day, arr_time);
-                // if arrival earlier than departure assume arrival next day:
-                if (this.departureDateTime != null && this.arrivalDateTime.isBefore(this.departureDateTime)) {
-                    this.arrivalDateTime = this.arrivalDateTime.plusDays(1);
-                }
-            } else {
-                this.arrivalDateTime = null;
-            }
-        }
-
-        // Convert hhmm int like 517 to LocalDateTime
-        private static LocalDateTime convertToDateTime(int y, int m, int d, int hhmm) {
-            int hh = hhmm / 100;
-            int mm = hhmm % 100;
-            // handle occasional invalid minutes/hours gracefully by bounding
-            hh = Math.max(0, Math.min(23, hh));
-            mm = Math.max(0, Math.min(59, mm));
-            return LocalDateTime.of(LocalDate.of(y, m, d), LocalTime.of(hh, mm));
-        }
-
-        @Override
-        public String toString() {
-            return String.format("%s%d-%02d-%02d %04d %s %s->%s flight:%d dist:%d airtime:%s",
-                    "", year, month, day, dep_time == null ? 0 : dep_time, carrier, origin, dest, flight,
-                    distance, air_time == null ? "NA" : air_time.toString());
-        }
-
-        // Helper key: date + carrier + flight number to identify unique scheduled flight
-        public String uniqueKey() {
-            return String.format("%04d-%02d-%02d|%s|%d", year, month, day, carrier, flight);
-        }
-    }
-
-    // ---------- CSV reading and parsing ----------
-    /**
-     * Read CSV into a List<Flight>, skipping any rows that contain "NA" or empty fields,
-     * as required by the assignment (cancelled flights ignored).
-     *
-     * We parse the header to find indices allowing flexible column order.
-     */
-    public static List<Flight> readFlightsCSV(String csvFilePath) throws IOException {
-        BufferedReader br = new BufferedReader(new FileReader(csvFilePath));
-        String headerLine = br.readLine();
-        if (headerLine == null) {
-            br.close();
-            throw new IOException("Empty CSV file");
-        }
-        String[] headers = headerLine.split(",");
-        Map<String, Integer> idx = new HashMap<>();
-        for (int i = 0; i < headers.length; i++) {
-            String h = headers[i].trim().replaceAll("\"", "");
-            idx.put(h, i);
-        }
-
-        // Required column names according to nycflights13::flights
-        String[] required = {"year","month","day","dep_time","arr_time","air_time","carrier","tailnum","flight","origin","dest","distance"};
-        for (String req : required) {
-            if (!idx.containsKey(req)) {
-                br.close();
-                throw new IOException("CSV missing required column: " + req);
-            }
-        }
-
-        List<Flight> flights = new ArrayList<>();
-        String line;
-        while ((line = br.readLine()) != null) {
-            // naive split - assumes no commas inside fields
-            String[] fields = line.split(",", -1);
-
-            boolean hasNAorEmpty = false;
-            for (String f : fields) {
-                if (f == null) { hasNAorEmpty = true; break; }
-                String t = f.trim().replaceAll("\"", "");
-                if (t.equals("") || t.equalsIgnoreCase("NA")) { hasNAorEmpty = true; break; }
-            }
-            if (hasNAorEmpty) continue; // skip cancelled rows
-
-            try {
-                int year = Integer.parseInt(fields[idx.get("year")].trim().replaceAll("\"", ""));
-                int month = Integer.parseInt(fields[idx.get("month")].trim().replaceAll("\"", ""));
-                int day = Integer.parseInt(fields[idx.get("day")].trim().replaceAll("\"", ""));
-
-                Integer dep_time = parseIntegerOrNull(fields[idx.get("dep_time")].trim());
-                Integer arr_time = parseIntegerOrNull(fields[idx.get("arr_time")].trim());
-                Integer air_time = parseIntegerOrNull(fields[idx.get("air_time")].trim());
-
-                String carrier = fields[idx.get("carrier")].trim().replaceAll("\"", "");
-                String tailnum = fields[idx.get("tailnum")].trim().replaceAll("\"", "");
-                int flight = Integer.parseInt(fields[idx.get("flight")].trim().replaceAll("\"", ""));
-                String origin = fields[idx.get("origin")].trim().replaceAll("\"", "");
-                String dest = fields[idx.get("dest")].trim().replaceAll("\"", "");
-                int distance = Integer.parseInt(fields[idx.get("distance")].trim().replaceAll("\"", ""));
-
-                // If any of the required parsed values are null, we skip (shouldn't happen due to earlier check).
-                Flight fobj = new Flight(year, month, day, dep_time, arr_time, air_time,
-                        carrier, tailnum, flight, origin, dest, distance);
-                flights.add(fobj);
-            } catch (Exception e) {
-                // Skip malformed row
-                continue;
-            }
-        }
-        br.close();
-        return flights;
-    }
-
-    private static Integer parseIntegerOrNull(String s) {
-        if (s == null) return null;
-        s = s.trim().replaceAll("\"", "");
-        if (s.equals("") || s.equalsIgnoreCase("NA")) return null;
-        try { return Integer.parseInt(s); } catch (NumberFormatException e) { return null; }
-    }
-
-    // ---------- Part 1 ----------
-    public static void part1(List<Flight> flights) {
-        System.out.println("=== PART 1 ===");
-
-        // 1. Already read in dataset earlier.
-        System.out.println("Total valid (non-NA) flights read: " + flights.size());
-
-        // 2. Count flights leaving the three airports EWR, JFK, LGA
-        Map<String, Long> countsByOrigin = flights.stream()
-                .collect(Collectors.groupingBy(f -> f.origin, Collectors.counting()));
-
-        System.out.println("Counts by origin (EWR, JFK, LGA):");
-        for (String o : Arrays.asList("EWR","JFK","LGA")) {
-            System.out.println(o + ": " + countsByOrigin.getOrDefault(o, 0L));
-        }
-
-        // 3. Consider only flights leaving LGA and provide evidence (we'll print sample + count)
-        List<Flight> flightsFromLGA = flights.stream()
-                .filter(f -> f.origin.equals("LGA"))
-                .collect(Collectors.toList());
-
-        System.out.println("Number of flights leaving LGA (non-NA): " + flightsFromLGA.size());
-        System.out.println("Sample 10 flights from LGA:");
-        flightsFromLGA.stream().limit(10).forEach(System.out::println);
-
-        // The questions that are locked are not printed here, as requested (we only supply code & evidence).
-    }
-
-    // ---------- Part 2 ----------
-    public static void part2(List<Flight> flights) {
-        System.out.println("\n=== PART 2 ===");
-        // 1. Number of different tailnum (aircraft) for UA, HA, B6
-        List<String> airlinesOfInterest = Arrays.asList("UA","HA","B6");
-        for (String c : airlinesOfInterest) {
-            Set<String> tails = flights.stream()
-                    .filter(f -> f.carrier.equals(c))
-                    .map(f -> f.tailnum)
-                    .collect(Collectors.toSet());
-            System.out.println("Airline " + c + " distinct tailnum count: " + tails.size());
-            // Optionally show sample tailnums
-            System.out.println("Sample tailnums: " + tails.stream().limit(10).collect(Collectors.toList()));
-        }
-
-        // 3. B6 (JetBlue) destinations in December
-        List<Flight> b6Dec = flights.stream()
-                .filter(f -> f.carrier.equals("B6") && f.month == 12)
-                .collect(Collectors.toList());
-        Set<String> b6DecDests = b6Dec.stream().map(f -> f.dest).collect(Collectors.toSet());
-        System.out.println("B6 December destinations (count " + b6DecDests.size() + "): " + b6DecDests);
-
-        // 5. Airports not reachable from LGA (meaning: there is no flight with origin LGA and dest = that airport in dataset)
-        // Build set of all airports and set of LGA reachable
-        Set<String> allAirports = flights.stream()
-                .flatMap(f -> Arrays.stream(new String[]{f.origin, f.dest}))
-                .collect(Collectors.toSet());
-        Set<String> reachableFromLGA = flights.stream()
-                .filter(f -> f.origin.equals("LGA"))
-                .map(f -> f.dest)
-                .collect(Collectors.toSet());
-
-        Set<String> notReachableFromLGA = new HashSet<>(allAirports);
-        notReachableFromLGA.removeAll(reachableFromLGA);
-        // Remove LGA itself (we're interested in other airports)
-        notReachableFromLGA.remove("LGA");
-
-        System.out.println("Airports that appear in dataset but are NOT reached directly from LGA (count " + notReachableFromLGA.size() + "):");
-        System.out.println(notReachableFromLGA.stream().limit(50).collect(Collectors.toList()));
-    }
-
-    // ---------- Part 3: Re-allocation scenario + FlightScheduler class ----------
-    public static void part3(List<Flight> flights) {
-        System.out.println("\n=== PART 3 ===");
-        // Airports with runways:
-        Map<String, Integer> runways = new HashMap<>();
-        runways.put("EWR", 3);
-        runways.put("LGA", 2);
-        runways.put("JFK", 4);
-        runways.put("ECI", 4); // new airport
-
-        // Count total flights across EWR,LGA,JFK (we are only allowed to cancel flights in dataset)
-        Map<String, Long> originCounts = flights.stream()
-                .filter(f -> runways.containsKey(f.origin) && !f.origin.equals("ECI"))
-                .collect(Collectors.groupingBy(f -> f.origin, Collectors.counting()));
-
-        long ewr = originCounts.getOrDefault("EWR", 0L);
-        long lga = originCounts.getOrDefault("LGA", 0L);
-        long jfk = originCounts.getOrDefault("JFK", 0L);
-        long total = ewr + lga + jfk;
-
-        System.out.println("EWR: " + ewr + ", LGA: " + lga + ", JFK: " + jfk + ", total: " + total);
-
-        // We need to redistribute flights between the 4 airports proportional to number of runways
-        int totalRunways = runways.values().stream().mapToInt(Integer::intValue).sum(); // includes ECI
-        // But runways map currently includes ECI as well. However we want distribution across EWR,LGA,JFK,ECI
-        totalRunways = runways.get("EWR") + runways.get("LGA") + runways.get("JFK") + runways.get("ECI");
-
-        // target flights per airport proportional to runways
-        double perRunway = (double) total / totalRunways;
-        Map<String, Long> target = new HashMap<>();
-        for (String a : Arrays.asList("EWR","LGA","JFK","ECI")) {
-            long t = Math.round(runways.get(a) * perRunway);
-            target.put(a, t);
-        }
-
-        // Since rounding may create slight mismatch, adjust ECI to absorb difference so ECI gets whole-number flights reallocated
-        long allocatedTotal = target.get("EWR")+target.get("LGA")+target.get("JFK")+target.get("ECI");
-        long diff = total - allocatedTotal;
-        target.put("ECI", target.get("ECI") + diff);
-
-        System.out.println("Target distribution after balancing (EWR,LGA,JFK,ECI): " + target);
-
-        // Compute how many flights will be re-allocated *to ECI* (i.e., flights cancelled at existing airports and moved to ECI)
-        long flightsToECI = 0L;
-        // We will re-allocate from airports where current > target, transferring surplus to ECI until ECI reaches target
-        long eciTarget = target.get("ECI");
-        long currentECI = 0; // initially no flights have origin ECI in dataset
-        long eciNeeded = Math.max(0L, eciTarget - currentECI);
-
-        // Surplus available from each existing airport
-        Map<String, Long> surplus = new HashMap<>();
-        surplus.put("EWR", Math.max(0L, ewr - target.get("EWR")));
-        surplus.put("LGA", Math.max(0L, lga - target.get("LGA")));
-        surplus.put("JFK", Math.max(0L, jfk - target.get("JFK")));
-
-        long reallocated = 0L;
-        // Pull from surpluses until ECI needed satisfied
-        for (String a : Arrays.asList("EWR","JFK","LGA")) {
-            if (eciNeeded <= 0) break;
-            long take = Math.min(surplus.getOrDefault(a, 0L), eciNeeded);
-            reallocated += take;
-            eciNeeded -= take;
-        }
-
-        // If still need, we may have to reallocate by moving flights from airports that are below target (impractical),
-        // but since ECI counted in target distribution it should be filled by surpluses; here we simply ensure integer:
-        flightsToECI = reallocated;
-        System.out.println("Number of existing flights that will get re-allocated to ECI (whole number): " + flightsToECI);
-
-        // 3. Implement FlightScheduler class + demo
-        System.out.println("\n--- Demonstration of FlightScheduler ---");
-        FlightScheduler scheduler = new FlightScheduler();
-        // For demo, instead of passing full CSV file path we will load flights into scheduler via a method that accepts existing List<Flight>.
-        // But class implements loadData(String) for file-based loading as required.
-        scheduler.loadFlightsFromList(flights); // convenience method for tests
-        // Mark some random flights reallocated (for demonstration pick first 3 flights)
-        System.out.println("Marking first 3 flights as reallocated (demo).");
-        int marks = 0;
-        for (Flight f : flights.stream().limit(3).collect(Collectors.toList())) {
-            scheduler.reallocate(f.day, f.month, f.year, f.carrier + "-" + f.flight); // stored key depends on implementation
-            marks++;
-            if (marks >= 3) break;
-        }
-        // Check a sample flight (should return false if reallocated or originally absent)
-        Flight sample = flights.get(0);
-        boolean ok = scheduler.check(sample.day, sample.month, sample.year, sample.carrier + "-" + sample.flight);
-        System.out.println("Check flight " + sample.carrier + "-" + sample.flight + " on " + sample.year + "-" + sample.month + "-" + sample.day + ": OK? " + ok);
-    }
-
-    /**
-     * FlightScheduler class using HashMaps/HashSets to mark reallocated flights.
-     *
-     * Methods:
-     * - FlightScheduler()
-     * - void loadData(String flightDataFile) -> loads CSV (not used in demo)
-     * - void loadFlightsFromList(List<Flight>) -> convenience to load existing parsed flights
-     * - void reallocate(int day, int month, int year, String flightCode) -> marks the scheduled flight as reallocated origin=ECI
-     * - boolean check(int day, int month, int year, String flightCode) -> true if flight still ok, false if reallocated/cancelled
-     */
-    public static class FlightScheduler {
-        // We'll identify flights by a string key: "YYYY-MM-DD|carrier|flightNumber"
-        private Map<String, Flight> flightMap; // maps key -> Flight
-        private Set<String> reallocatedSet; // set of keys that are reallocated/cancelled
-
-        public FlightScheduler() {
-            flightMap = new HashMap<>();
-            reallocatedSet = new HashSet<>();
-        }
-
-        // Loads CSV file similarly to readFlightsCSV but adds to flightMap
-        public void loadData(String flightDataFile) {
-            try {
-                List<Flight> list = readFlightsCSV(flightDataFile);
-                loadFlightsFromList(list);
-            } catch (IOException e) {
-                System.err.println("Failed to load data: " + e.getMessage());
-            }
-        }
-
-        // Convenience for demo/testing: load from already parsed list
-        public void loadFlightsFromList(List<Flight> flights) {
-            for (Flight f : flights) {
-                String key = makeKey(f.year, f.month, f.day, f.carrier, f.flight);
-                flightMap.put(key, f);
-                // if the origin is already ECI treat it as reallocated/cancelled
-                if ("ECI".equals(f.origin)) {
-                    reallocatedSet.add(key);
-                }
-            }
-        }
-
-        // Mark a flight as re-allocated to ECI and update origin in map if present.
-        public void reallocate(int day, int month, int year, String flightCode) {
-            // flightCode expected format: "CARRIER-flightNumber" (demo); but we will support direct numeric flight if needed
-            String key = makeKey(year, month, day, parseCarrierFromFlightCode(flightCode), parseFlightNumFromFlightCode(flightCode));
-            reallocatedSet.add(key);
-            if (flightMap.containsKey(key)) {
-                Flight f = flightMap.get(key);
-                f.origin = "ECI"; // update origin to ECI
-            }
-        }
-
-        // Check returns true if flight is OK (not reallocated/cancelled), false otherwise
-        public boolean check(int day, int month, int year, String flightCode) {
-            String key = makeKey(year, month, day, parseCarrierFromFlightCode(flightCode), parseFlightNumFromFlightCode(flightCode));
-            // If flight not found in map, assume cancelled -> return false
-            if (!flightMap.containsKey(key)) return false;
-            // If present but in reallocatedSet -> return false
-            return !reallocatedSet.contains(key);
-        }
-
-        private static String makeKey(int year, int month, int day, String carrier, int flightNum) {
-            return String.format("%04d-%02d-%02d|%s|%d", year, month, day, carrier, flightNum);
-        }
-
-        private static String parseCarrierFromFlightCode(String flightCode) {
-            // flightCode "AA-401" -> "AA"
-            if (flightCode == null) return "";
-            String[] parts = flightCode.split("-");
-            if (parts.length >= 2) return parts[0];
-            // fallback: assume the whole string is carrier
-            return flightCode;
-        }
-
-        private static int parseFlightNumFromFlightCode(String flightCode) {
-            if (flightCode == null) return 0;
-            String[] parts = flightCode.split("-");
-            if (parts.length >= 2) {
-                try { return Integer.parseInt(parts[1]); } catch (NumberFormatException e) { return 0; }
-            }
-            return 0;
-        }
-    }
-
-    // ---------- Part 4: Graph problems ----------
-    public static void part4(List<Flight> flights) {
-        System.out.println("\n=== PART 4 === (Graph reachability ignoring direction)");
-
-        // Build undirected adjacency: airport -> set of neighbor airports
-        Map<String, Set<String>> adj = new HashMap<>();
-        for (Flight f : flights) {
-            String a = f.origin;
-            String b = f.dest;
-            adj.computeIfAbsent(a, k -> new HashSet<>()).add(b);
-            adj.computeIfAbsent(b, k -> new HashSet<>()).add(a);
-        }
-
-        // 1. How many different airports can you reach from EWR by taking two flights?
-        Set<String> afterOne = adj.getOrDefault("EWR", Collections.emptySet());
-        Set<String> afterTwo = new HashSet<>();
-        for (String mid : afterOne) {
-            Set<String> neighbors = adj.getOrDefault(mid, Collections.emptySet());
-            afterTwo.addAll(neighbors);
-        }
-        // remove EWR itself if present
-        afterTwo.remove("EWR");
-        System.out.println("Distinct airports reachable from EWR in 2 flights: " + afterTwo.size());
-        // print sample subset
-        System.out.println("Sample: " + afterTwo.stream().limit(20).collect(Collectors.toList()));
-
-        // 3. How many different airports can you reach from EWR by taking three flights?
-        Set<String> afterThree = new HashSet<>();
-        // do BFS up to depth 3, undirected
-        Set<String> visited = new HashSet<>();
-        Queue<String> q = new ArrayDeque<>();
-        q.add("EWR");
-        visited.add("EWR");
-        int depth = 0;
-        // do level-order BFS but collect nodes at depth 3
-        Map<String, Integer> dist = new HashMap<>();
-        dist.put("EWR", 0);
-        while (!q.isEmpty()) {
-            String cur = q.poll();
-            int dcur = dist.get(cur);
-            if (dcur >= 3) continue;
-            for (String nb : adj.getOrDefault(cur, Collections.emptySet())) {
-                if (!dist.containsKey(nb)) {
-                    dist.put(nb, dcur + 1);
-                    q.add(nb);
-                }
-            }
-        }
-        for (Map.Entry<String,Integer> e : dist.entrySet()) {
-            if (e.getValue() == 3) afterThree.add(e.getKey());
-        }
-        afterThree.remove("EWR");
-        System.out.println("Distinct airports reachable from EWR in 3 flights: " + afterThree.size());
-        System.out.println("Sample: " + afterThree.stream().limit(20).collect(Collectors.toList()));
-    }
-
-    // ---------- Part 5: Maximum flights in 2013 starting 2013-01-01 05:00 ----------
-    /**
-     * We implement a beam-search heuristic that explores multiple promising itineraries.
-     * - Start at each of EWR, LGA, JFK at 2013-01-01 05:00 (inclusive)
-     * - At each step, consider flights departing from current airport with departure >= current time
-     * - For each candidate flight, produce a new itinerary; keep only top-K itineraries by
-     * (1) number of flights taken (desc), (2) earlier current time (asc) as tie-breaker.
-     * - Repeat until no itineraries can be expanded or we exceed 2013-12-31 23:59.
-     * Beam width K is adjustable; larger K gives better result at cost of time/memory.
-     */
-    public static int part5(List<Flight> flights) {
-        System.out.println("\n=== PART 5 === (Max flights in 2013 heuristic)");
-
-        // Build map origin->sorted list of flights by departure datetime
-        Map<String, List<Flight>> flightsByOrigin = new HashMap<>();
-        for (Flight f : flights) {
-            if (f.departureDateTime == null || f.arrivalDateTime == null) continue; // must have times
-            if (f.year != 2013) continue;
-            flightsByOrigin.computeIfAbsent(f.origin, k -> new ArrayList<>()).add(f);
-        }
-        // sort each list by departure time
-        for (List<Flight> lst : flightsByOrigin.values()) {
-            lst.sort(Comparator.comparing(f -> f.departureDateTime));
-        }
-
-        // beam search params
-        final int BEAM_WIDTH = 200; // adjust: larger -> better result but slower/more memory
-        final LocalDateTime END_OF_2013 = LocalDateTime.of(2013,12,31,23,59);
-
-        class State {
-            String airport;
-            LocalDateTime time; // current time at airport (we are on ground and can board flights departing at >= time)
-            int flightsTaken;
-            // To prevent immediate repeats, we could store visited events, but assignment allows reusing flights if they fit times.
-            // We'll store a history size only for potential debugging (not used in equality)
-            // List<String> path;
-
-            public State(String airport, LocalDateTime time, int flightsTaken/*, List<String> path*/) {
-                this.airport = airport;
-                this.time = time;
-                this.flightsTaken = flightsTaken;
-                // this.path = path;
-            }
-        }
-
-        // initial states: start at each of EWR, LGA, JFK at 2013-01-01 05:00
-        LocalDateTime startTime = LocalDateTime.of(2013,1,1,5,0);
-        List<State> beam = new ArrayList<>();
-        for (String s : Arrays.asList("EWR","LGA","JFK")) beam.add(new State(s, startTime, 0));
-
-        int bestFlights = 0;
-
-        // helper: get next flights from origin departing at or after time
-        // We'll binary search the sorted list per origin to quickly find starting index
-        for (int iter = 0; iter < 10000; iter++) { // safety upper bound
-            List<State> nextBeamCandidates = new ArrayList<>();
-            boolean anyExpanded = false;
-            for (State st : beam) {
-                // find candidate flights
-                List<Flight> originList = flightsByOrigin.getOrDefault(st.airport, Collections.emptyList());
-                if (originList.isEmpty()) continue;
-
-                // binary search to find first index with departure >= st.time
-                int lo = 0, hi = originList.size()-1, idx = originList.size();
-                while (lo <= hi) {
-                    int mid = (lo+hi)/2;
-                    if (!originList.get(mid).departureDateTime.isBefore(st.time)) {
-                        idx = mid;
-                        hi = mid-1;
-                    } else lo = mid+1;
-                }
-                // from idx iterate up to some limit to avoid exploding branches (e.g., consider first M options)
-                int MAX_OPTIONS_PER_STATE = 30;
-                int optionsTaken = 0;
-                for (int i = idx; i < originList.size() && optionsTaken < MAX_OPTIONS_PER_STATE; i++) {
-                    Flight f = originList.get(i);
-                    // ensure arrival within 2013
-                    if (f.arrivalDateTime.isAfter(END_OF_2013)) continue;
-                    // new state after taking this flight
-                    State ns = new State(f.dest, f.arrivalDateTime, st.flightsTaken + 1);
-                    nextBeamCandidates.add(ns);
-                    optionsTaken++;
-                    anyExpanded = true;
-                }
-                // Also consider 'staying' (i.e., we could wait longer - but waiting without flying is not useful for maximizing flights)
-                // So we don't add waiting-only states.
-            }
-            if (!anyExpanded) break;
-
-            // Keep top BEAM_WIDTH candidates ordered by flightsTaken (desc), then earlier time (asc)
-            nextBeamCandidates.sort((a,b) -> {
-                if (b.flightsTaken != a.flightsTaken) return Integer.compare(b.flightsTaken, a.flightsTaken);
-                return a.time.compareTo(b.time);
-            });
-
-            if (!nextBeamCandidates.isEmpty()) {
-                beam = nextBeamCandidates.stream().limit(BEAM_WIDTH).collect(Collectors.toList());
-                bestFlights = Math.max(bestFlights, beam.get(0).flightsTaken);
-            } else break;
-            // Stop if beam converged and no improvement likely
-            if (bestFlights > 2000) break; // safety guard
-        }
-
-        System.out.println("Beam-search heuristic best flights count found: " + bestFlights);
-        return bestFlights;
-    }
-
-    // ---------- main ----------
-    public static void main(String[] args) {
-     String CSV_FILE = "src/major_assignment2/flights.csv";
-        if (args.length > 0) CSV_FILE = args[0];
-
-        try {
-            System.out.println("Loading CSV: " + CSV_FILE + " (this may take a moment) ...");
-            List<Flight> flights = readFlightsCSV(CSV_FILE);
-            System.out.println("Loaded flights: " + flights.size());
-
-            // PART 1
-            part1(flights);
-
-            // PART 2
-            part2(flights);
-
-            // PART 3
-            part3(flights);
-
-            // PART 4
-            part4(flights);
-
-            // PART 5 (heuristic)
-            int maxFlights = part5(flights);
-            System.out.println("Heuristic maximum flights in 2013 (approx): " + maxFlights);
-
-        } catch (IOException e) {
-            System.err.println("Failed to load/parse CSV file: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
+package major_assignment2;
+
+/**
+ * MajorAssignment2.java
+ *
+ * Complete solution for Major Assignment 2 (CompThinking&BigData) in Java.
+ *
+ * - Reads a CSV created from R's nycflights13::flights
+ * - Filters out rows with any NA/empty fields
+ * - Converts the parsed flights into a columnar FlightTable that all parts run on
+ * - Implements Parts 1-5 as required:
+ * Part1: counts by origin + LGA-specific queries
+ * Part2: tailnum analysis, December B6 destinations, unreachable from LGA
+ * Part3: reallocation to ECI and FlightScheduler class using HashSet/HashMap
+ * Part4: graph analysis (2- and 3-flight reachability from EWR, time-respecting reachability)
+ * Part5: maximum number of flights in 2013 starting 1 Jan 2013 05:00 (beam search, exact DAG solver)
+ *
+ * Usage: edit CSV_FILE path in main() or pass args[0] as path.
+ *        Without R, a CSV in the same layout can be written by FlightsDataGenerator.
+ * Options: --parallel     parse the CSV, run the part1/part2 aggregations and the part 4
+ *                         all-pairs BFS, and expand the part 5 beam on all cores
+ *                         (same results as the sequential code)
+ *          --no-snapshot  always parse the CSV; by default the parsed table is cached in
+ *                         <csv>.snap and reloaded while the CSV is unchanged
+ *          --concurrent   after part 3, run ConcurrentFlightScheduler with reader threads
+ *                         checking flights while one thread reallocates
+ *          --part5=MODE   beam (heuristic), exact (FlightChainSolver) or both (default)
+ *          --beam-width=N, --beam-options=N
+ *                         part 5 beam width (200) and departures tried per state (30)
+ *          --beam-no-dedup
+ *                         keep states with the same airport and time in the beam
+ *          --beam-count-only
+ *                         do not keep parent pointers (no itinerary for the beam result)
+ *          --hll[=P]      part 2 also estimates distinct tailnums per carrier and per
+ *                         (carrier, month) with HyperLogLog sketches of precision P (4..18, default 12)
+ *                         and reports their error and memory against the exact sets
+ *          --tail[=MS]    streaming mode: poll the CSV every MS ms (1000), parse only appended
+ *                         lines and print the updated part 1/part 2 answers after each batch
+ *          --tail-idle=N  stop tailing after N polls without new rows (default: never)
+ *
+ * NOTE: this is a single-file solution for clarity. In production you might split classes.
+ */
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.LocalDate;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class MajorAssignment2 {
+
+    // ---------- Helper data classes ----------
+    static class Flight {
+        // Fields from nycflights13::flights (subset used)
+        int year, month, day;
+        Integer dep_time; // numeric like 517 for 5:17am or possibly NA (we filter NA out)
+        Integer arr_time;
+        Integer air_time; // minutes
+        // carrier, tailnum, origin and dest are ids into the shared symbol dictionaries
+        int carrierId;
+        int tailnumId;
+        int flight; // flight number
+        int originId;
+        int destId;
+        int distance; // miles
+        FlightSymbols symbols;
+
+        // Derived departure/arrival LocalDateTime (calculated using dep_time and arr_time)
+        // We'll compute a departure datetime assuming the hhmm integer format
+        LocalDateTime departureDateTime;
+        LocalDateTime arrivalDateTime;
+
+        public Flight(FlightSymbols symbols, int year, int month, int day, Integer dep_time, Integer arr_time, Integer air_time,
+                      int carrierId, int tailnumId, int flight, int originId, int destId, int distance) {
+            this.symbols = symbols;
+            this.year = year;
+            this.month = month;
+            this.day = day;
+            this.dep_time = dep_time;
+            this.arr_time = arr_time;
+            this.air_time = air_time;
+            this.carrierId = carrierId;
+            this.tailnumId = tailnumId;
+            this.flight = flight;
+            this.originId = originId;
+            this.destId = destId;
+            this.distance = distance;
+
+            if (dep_time != null) {
+                this.departureDateTime = convertToDateTime(year, month, day, dep_time);
+            } else {
+                this.departureDateTime = null;
+            }
+            if (dep_time != null && air_time != null) {
+                this.arrivalDateTime = this.departureDateTime.plusMinutes(air_time);
+            } else if (arr_time != null) {
+                // fallback if air_time exists but arrival time not consistent: convert arr_time to datetime
+                this.arrivalDateTime = convertToDateTime(year, month, day, arr_time);
+                // if arrival earlier than departure assume arrival next day:
+                if (this.departureDateTime != null && this.arrivalDateTime.isBefore(this.departureDateTime)) {
+                    this.arrivalDateTime = this.arrivalDateTime.plusDays(1);
+                }
+            } else {
+                this.arrivalDateTime = null;
+            }
+        }
+
+        public String carrier() { return symbols.carriers.name(carrierId); }
+        public String tailnum() { return symbols.tailnums.name(tailnumId); }
+        public String origin() { return symbols.airports.name(originId); }
+        public String dest() { return symbols.airports.name(destId); }
+
+        // The airport must already be in the dictionary: dictionaries are not changed after loading
+        public void setOrigin(String airport) {
+            int id = symbols.airports.idOf(airport);
+            if (id < 0) throw new IllegalArgumentException("airport " + airport + " is not in the flight's dictionary");
+            this.originId = id;
+        }
+
+        // Convert hhmm int like 517 to LocalDateTime
+        private static LocalDateTime convertToDateTime(int y, int m, int d, int hhmm) {
+            int hh = hhmm / 100;
+            int mm = hhmm % 100;
+            // handle occasional invalid minutes/hours gracefully by bounding
+            hh = Math.max(0, Math.min(23, hh));
+            mm = Math.max(0, Math.min(59, mm));
+            return LocalDateTime.of(LocalDate.of(y, m, d), LocalTime.of(hh, mm));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s%d-%02d-%02d %04d %s %s->%s flight:%d dist:%d airtime:%s",
+                    "", year, month, day, dep_time == null ? 0 : dep_time, carrier(), origin(), dest(), flight,
+                    distance, air_time == null ? "NA" : air_time.toString());
+        }
+
+        // Helper key: date + carrier + flight number to identify unique scheduled flight
+        public String uniqueKey() {
+            return String.format("%04d-%02d-%02d|%s|%d", year, month, day, carrier(), flight);
+        }
+    }
+
+    // ---------- CSV reading and parsing ----------
+    /**
+     * Read CSV into a List<Flight>, skipping any rows that contain "NA" or empty fields,
+     * as required by the assignment (cancelled flights ignored).
+     *
+     * The header is parsed to find indices allowing flexible column order.
+     * Parsing is done by FlightsCsvLoader straight from the memory-mapped file.
+     */
+    public static List<Flight> readFlightsCSV(String csvFilePath) throws IOException {
+        return new FlightsCsvLoader(csvFilePath).load();
+    }
+
+    // ---------- Part 1 ----------
+    public static void part1(FlightTable t, boolean parallel) {
+        System.out.println("=== PART 1 ===");
+
+        // 1. Already read in dataset earlier.
+        System.out.println("Total valid (non-NA) flights read: " + t.size());
+
+        // One fused pass: counts by origin code + the rows leaving LGA
+        int lga = t.airports.idOf("LGA");
+        FlightAggregator agg = new FlightAggregator(t);
+        FlightAggregator.GroupCount countsByOrigin = agg.groupCount(null, row -> t.origin[row], t.airports.size());
+        FlightAggregator.FilteredSubset flightsFromLGA = agg.subset(row -> t.origin[row] == lga);
+        agg.run(parallel);
+
+        // 2. Count flights leaving the three airports EWR, JFK, LGA
+        System.out.println("Counts by origin (EWR, JFK, LGA):");
+        for (String o : Arrays.asList("EWR","JFK","LGA")) {
+            System.out.println(o + ": " + countsByOrigin.count(t.airports.idOf(o)));
+        }
+
+        // 3. Consider only flights leaving LGA and provide evidence (we'll print sample + count)
+        System.out.println("Number of flights leaving LGA (non-NA): " + flightsFromLGA.size());
+        System.out.println("Sample 10 flights from LGA:");
+        for (int i = 0; i < Math.min(10, flightsFromLGA.size()); i++) System.out.println(t.toFlight(flightsFromLGA.row(i)));
+
+        // The questions that are locked are not printed here, as requested (we only supply code & evidence).
+    }
+
+    // ---------- Part 2 ----------
+    public static void part2(FlightTable t, boolean parallel) {
+        part2(t, parallel, 0);
+    }
+
+    /** hllPrecision > 0 also estimates distinct tailnums with HyperLogLog sketches and compares them to the exact counts. */
+    public static void part2(FlightTable t, boolean parallel, int hllPrecision) {
+        System.out.println("\n=== PART 2 ===");
+        // All questions of this part are answered from one fused pass over the table
+        FlightAggregator agg = new FlightAggregator(t);
+
+        // 1. Number of different tailnum (aircraft) for UA, HA, B6
+        List<String> airlinesOfInterest = Arrays.asList("UA","HA","B6");
+        Map<String, FlightAggregator.DistinctSet> tailsByCarrier = new LinkedHashMap<>();
+        for (String c : airlinesOfInterest) {
+            int code = t.carriers.idOf(c);
+            tailsByCarrier.put(c, agg.distinct(row -> t.carrier[row] == code, row -> t.tailnum[row]));
+        }
+
+        // 3. B6 (JetBlue) destinations in December
+        int b6 = t.carriers.idOf("B6");
+        FlightAggregator.DistinctSet b6DecDestCodes = agg.distinct(row -> t.carrier[row] == b6 && t.month[row] == 12, row -> t.dest[row]);
+
+        // 5. Airports not reachable from LGA (meaning: there is no flight with origin LGA and dest = that airport in dataset)
+        // Build set of all airports and set of LGA reachable
+        int lga = t.airports.idOf("LGA");
+        FlightAggregator.DistinctSet origins = agg.distinct(null, row -> t.origin[row]);
+        FlightAggregator.DistinctSet dests = agg.distinct(null, row -> t.dest[row]);
+        FlightAggregator.DistinctSet reachableFromLGA = agg.distinct(row -> t.origin[row] == lga, row -> t.dest[row]);
+
+        // Optional: HyperLogLog sketches of tailnums per carrier and per (carrier, month), in the same pass
+        FlightAggregator.GroupSketch tailSketchByCarrier = null, tailSketchByCarrierMonth = null;
+        if (hllPrecision > 0) {
+            long[] tailHash = HyperLogLog.hashes(t.tailnums);
+            tailSketchByCarrier = agg.sketch(null, row -> t.carrier[row], t.carriers.size(), row -> tailHash[t.tailnum[row]], hllPrecision);
+            tailSketchByCarrierMonth = agg.sketch(row -> t.month[row] >= 1 && t.month[row] <= 12,
+                    row -> t.carrier[row] * 12 + t.month[row] - 1, t.carriers.size() * 12, row -> tailHash[t.tailnum[row]], hllPrecision);
+        }
+
+        agg.run(parallel);
+
+        for (String c : airlinesOfInterest) {
+            Set<String> tails = decode(tailsByCarrier.get(c).codes(), t.tailnums);
+            System.out.println("Airline " + c + " distinct tailnum count: " + tails.size());
+            // Optionally show sample tailnums
+            System.out.println("Sample tailnums: " + tails.stream().limit(10).collect(Collectors.toList()));
+        }
+
+        Set<String> b6DecDests = decode(b6DecDestCodes.codes(), t.airports);
+        System.out.println("B6 December destinations (count " + b6DecDests.size() + "): " + b6DecDests);
+
+        BitSet notReachable = (BitSet) origins.codes().clone();
+        notReachable.or(dests.codes());
+        notReachable.andNot(reachableFromLGA.codes());
+        // Remove LGA itself (we're interested in other airports)
+        if (lga >= 0) notReachable.clear(lga);
+        Set<String> notReachableFromLGA = decode(notReachable, t.airports);
+
+        System.out.println("Airports that appear in dataset but are NOT reached directly from LGA (count " + notReachableFromLGA.size() + "):");
+        System.out.println(notReachableFromLGA.stream().limit(50).collect(Collectors.toList()));
+
+        if (hllPrecision > 0) {
+            // exact reference: tailnum codes per carrier and per (carrier, month)
+            int nCarriers = t.carriers.size();
+            BitSet[] byCarrier = new BitSet[nCarriers], byCarrierMonth = new BitSet[nCarriers * 12];
+            for (int i = 0; i < t.size; i++) {
+                if (byCarrier[t.carrier[i]] == null) byCarrier[t.carrier[i]] = new BitSet();
+                byCarrier[t.carrier[i]].set(t.tailnum[i]);
+                if (t.month[i] < 1 || t.month[i] > 12) continue;
+                int g = t.carrier[i] * 12 + t.month[i] - 1;
+                if (byCarrierMonth[g] == null) byCarrierMonth[g] = new BitSet();
+                byCarrierMonth[g].set(t.tailnum[i]);
+            }
+            System.out.printf("HyperLogLog distinct tailnums (precision %d, %d registers, expected error ~%.1f%%):%n",
+                    hllPrecision, 1 << hllPrecision, 104.0 / Math.sqrt(1 << hllPrecision));
+            for (String c : airlinesOfInterest) {
+                int code = t.carriers.idOf(c);
+                int exact = code < 0 || byCarrier[code] == null ? 0 : byCarrier[code].cardinality();
+                double estimate = tailSketchByCarrier.estimate(code);
+                System.out.printf("  %s: exact %d, estimate %.1f (%+.1f%%)%n", c, exact, estimate, exact == 0 ? 0.0 : 100 * (estimate - exact) / exact);
+            }
+            System.out.println(sketchReport("per carrier", tailSketchByCarrier, byCarrier, t.tailnums));
+            System.out.println(sketchReport("per (carrier, month)", tailSketchByCarrierMonth, byCarrierMonth, t.tailnums));
+        }
+    }
+
+    // Error of the sketches against the exact sets, and their memory against one Set<String> per group
+    private static String sketchReport(String label, FlightAggregator.GroupSketch sketches, BitSet[] exact, SymbolDictionary dict) {
+        int groups = 0;
+        double sumError = 0, maxError = 0;
+        long setBytes = 0;
+        for (int g = 0; g < exact.length; g++) {
+            if (exact[g] == null) continue;
+            int n = exact[g].cardinality();
+            double error = Math.abs(sketches.estimate(g) - n) / n;
+            groups++;
+            sumError += error;
+            maxError = Math.max(maxError, error);
+            setBytes += HeapSize.stringSetBytes(decode(exact[g], dict), n);
+        }
+        return String.format("  %s: %d groups, mean |error| %.2f%%, max %.2f%%; sketches ~%.1f KB vs Set<String> ~%.1f KB",
+                label, groups, groups == 0 ? 0.0 : 100 * sumError / groups, 100 * maxError, sketches.heapBytes() / 1e3, setBytes / 1e3);
+    }
+
+    // Turn a set of dictionary codes back into the set of names
+    static Set<String> decode(BitSet codes, SymbolDictionary dict) {
+        Set<String> names = new HashSet<>();
+        for (int c = codes.nextSetBit(0); c >= 0; c = codes.nextSetBit(c + 1)) names.add(dict.name(c));
+        return names;
+    }
+
+    // ---------- Part 3: Re-allocation scenario + FlightScheduler class ----------
+    public static void part3(FlightTable table) {
+        System.out.println("\n=== PART 3 ===");
+        // Airports with runways:
+        Map<String, Integer> runways = new HashMap<>();
+        runways.put("EWR", 3);
+        runways.put("LGA", 2);
+        runways.put("JFK", 4);
+        runways.put("ECI", 4); // new airport
+
+        // Count total flights across EWR,LGA,JFK (we are only allowed to cancel flights in dataset)
+        long[] originCounts = new long[table.airports.size()];
+        for (int i = 0; i < table.size; i++) originCounts[table.origin[i]]++;
+
+        long ewr = countOf(originCounts, table.airports.idOf("EWR"));
+        long lga = countOf(originCounts, table.airports.idOf("LGA"));
+        long jfk = countOf(originCounts, table.airports.idOf("JFK"));
+        long total = ewr + lga + jfk;
+
+        System.out.println("EWR: " + ewr + ", LGA: " + lga + ", JFK: " + jfk + ", total: " + total);
+
+        // We need to redistribute flights between the 4 airports proportional to number of runways
+        Map<String, Long> target = runwayTargets(runways, total);
+
+        System.out.println("Target distribution after balancing (EWR,LGA,JFK,ECI): " + target);
+
+        // Compute how many flights will be re-allocated *to ECI* (i.e., flights cancelled at existing airports and moved to ECI)
+        long flightsToECI = 0L;
+        // We will re-allocate from airports where current > target, transferring surplus to ECI until ECI reaches target
+        long eciTarget = target.get("ECI");
+        long currentECI = 0; // initially no flights have origin ECI in dataset
+        long eciNeeded = Math.max(0L, eciTarget - currentECI);
+
+        // Surplus available from each existing airport
+        Map<String, Long> surplus = new HashMap<>();
+        surplus.put("EWR", Math.max(0L, ewr - target.get("EWR")));
+        surplus.put("LGA", Math.max(0L, lga - target.get("LGA")));
+        surplus.put("JFK", Math.max(0L, jfk - target.get("JFK")));
+
+        long reallocated = 0L;
+        Map<String, Long> takeFrom = new LinkedHashMap<>(); // flights each airport gives to ECI
+        // Pull from surpluses until ECI needed satisfied
+        for (String a : Arrays.asList("EWR","JFK","LGA")) {
+            if (eciNeeded <= 0) break;
+            long take = Math.min(surplus.getOrDefault(a, 0L), eciNeeded);
+            takeFrom.put(a, take);
+            reallocated += take;
+            eciNeeded -= take;
+        }
+
+        // If still need, we may have to reallocate by moving flights from airports that are below target (impractical),
+        // but since ECI counted in target distribution it should be filled by surpluses; here we simply ensure integer:
+        flightsToECI = reallocated;
+        System.out.println("Number of existing flights that will get re-allocated to ECI (whole number): " + flightsToECI);
+
+        // 3. Implement FlightScheduler class + demo
+        System.out.println("\n--- Demonstration of FlightScheduler ---");
+        FlightScheduler scheduler = new FlightScheduler();
+        // For demo, instead of passing full CSV file path we will load flights into scheduler via a method that accepts existing List<Flight>.
+        // But class implements loadData(String) for file-based loading as required.
+        scheduler.loadFlightsFromTable(table); // convenience method for tests
+
+        // Execute the rebalancing: pick the flights to move from each surplus airport and move them in one batch.
+        // The scheduler keeps one flight per key (date, carrier, flight number), so table rows that share a key
+        // count once and its totals can be lower than the row counts above: the targets are recomputed from
+        // its own counts, so every airport ends exactly at its runway share.
+        long scheduled = scheduler.countFrom("EWR") + scheduler.countFrom("LGA") + scheduler.countFrom("JFK");
+        Map<String, Long> scheduledTarget = scheduled == total ? target : runwayTargets(runways, scheduled);
+        if (scheduled != total) {
+            System.out.println("Scheduler holds " + scheduled + " of the " + total + " rows as distinct flights (rows with the same date, carrier "
+                    + "and flight number are one flight); targets for them: " + scheduledTarget);
+        }
+        ReallocationPlanner planner = new ReallocationPlanner(scheduler);
+        for (String a : Arrays.asList("EWR","JFK","LGA","ECI")) planner.target(a, scheduledTarget.get(a));
+        System.out.println(planner.execute());
+
+        // Mark some random flights reallocated (for demonstration pick first 3 flights)
+        System.out.println("Marking first 3 flights as reallocated (demo).");
+        for (int row = 0; row < Math.min(3, table.size); row++) {
+            scheduler.reallocate(table.day[row], table.month[row], table.year[row], table.carrierOf(row) + "-" + table.flight[row]); // stored key depends on implementation
+        }
+        // Check a sample flight (should return false if reallocated or originally absent)
+        Flight sample = table.toFlight(0);
+        boolean ok = scheduler.check(sample.day, sample.month, sample.year, sample.carrier() + "-" + sample.flight);
+        System.out.println("Check flight " + sample.carrier() + "-" + sample.flight + " on " + sample.year + "-" + sample.month + "-" + sample.day + ": OK? " + ok);
+
+        // Secondary index queries on the same scheduler
+        System.out.println("Reallocated " + sample.carrier() + " flights on " + sample.year + "-" + sample.month + "-" + sample.day + ": "
+                + scheduler.reallocatedFlights(sample.carrier(), sample.day, sample.month, sample.year).size());
+        System.out.println("Flights leaving ECI after reallocation: " + scheduler.flightsFrom("ECI").size());
+        System.out.println("Legs flown by " + sample.tailnum() + " in " + sample.year + "-" + sample.month + ": "
+                + scheduler.legsFlownBy(sample.tailnum(), sample.month, sample.year).size());
+    }
+
+    // Share of total flights per airport (EWR, LGA, JFK, ECI), proportional to its runways
+    private static Map<String, Long> runwayTargets(Map<String, Integer> runways, long total) {
+        // distribution across EWR,LGA,JFK,ECI
+        int totalRunways = runways.get("EWR") + runways.get("LGA") + runways.get("JFK") + runways.get("ECI");
+
+        // target flights per airport proportional to runways
+        double perRunway = (double) total / totalRunways;
+        Map<String, Long> target = new HashMap<>();
+        for (String a : Arrays.asList("EWR","LGA","JFK","ECI")) {
+            long t = Math.round(runways.get(a) * perRunway);
+            target.put(a, t);
+        }
+
+        // Since rounding may create slight mismatch, adjust ECI to absorb difference so ECI gets whole-number flights reallocated
+        long allocatedTotal = target.get("EWR")+target.get("LGA")+target.get("JFK")+target.get("ECI");
+        long diff = total - allocatedTotal;
+        target.put("ECI", target.get("ECI") + diff);
+        return target;
+    }
+
+    private static long countOf(long[] counts, int code) {
+        return code < 0 ? 0L : counts[code];
+    }
+
+    /**
+     * FlightScheduler class using HashMaps/HashSets to mark reallocated flights.
+     *
+     * Methods:
+     * - FlightScheduler()
+     * - void loadData(String flightDataFile) -> loads CSV (not used in demo)
+     * - void loadFlightsFromList(List<Flight>) -> convenience to load existing parsed flights
+     * - void loadFlightsFromTable(FlightTable) -> same, materializing each row of the columnar table
+     * - void reallocate(int day, int month, int year, String flightCode) -> marks the scheduled flight as reallocated origin=ECI
+     * - boolean check(int day, int month, int year, String flightCode) -> true if flight still ok, false if reallocated/cancelled
+     *
+     * Secondary index queries (see FlightIndex), kept consistent by reallocate():
+     * - flightsFrom(origin), flightsOf(carrier), flightsOn(day, month, year), flightsOfTail(tailnum)
+     * - reallocatedFlights(carrier, day, month, year) -> reallocated flights of one carrier on one day
+     * - legsFlownBy(tailnum, month, year) -> every leg flown by one aircraft in one month
+     */
+    public static class FlightScheduler {
+        // We identify flights by a packed long key: date, carrier id and flight number (see packKey)
+        private LongIntHashMap flightMap; // maps key -> flight id (index into flights)
+        private List<Flight> flights;
+        private LongHashSet reallocatedSet; // set of keys that are reallocated/cancelled
+        private FlightIndex index;
+        // The scheduler's own dictionaries: every loaded flight is re-encoded into them, so
+        // reallocating (origin ECI) never adds symbols to the dictionaries of the loaded table
+        private final FlightSymbols symbols = new FlightSymbols();
+        private final int eci = symbols.airports.encode("ECI"); // reserved up front: setOrigin never adds symbols
+        // Id remapping per source dictionary, kept between loads and only extended for the symbols a
+        // source added since (a stream loads many batches from one growing dictionary)
+        private final Map<FlightSymbols, int[][]> remaps = new WeakHashMap<>();
+
+        public FlightScheduler() {
+            flightMap = new LongIntHashMap();
+            flights = new ArrayList<>();
+            reallocatedSet = new LongHashSet();
+            index = new FlightIndex();
+        }
+
+        // Loads CSV file similarly to readFlightsCSV but adds to flightMap
+        public void loadData(String flightDataFile) {
+            try {
+                List<Flight> list = readFlightsCSV(flightDataFile);
+                loadFlightsFromList(list);
+            } catch (IOException e) {
+                System.err.println("Failed to load data: " + e.getMessage());
+            }
+        }
+
+        // Convenience for demo/testing: load from already parsed list.
+        // The scheduler keeps its own copies of the flights; the list's flights are not changed.
+        public void loadFlightsFromList(List<Flight> flights) {
+            Map<FlightSymbols, int[][]> current = new IdentityHashMap<>(); // remappings brought up to date by this call
+            for (Flight f : flights) {
+                int[][] remap = current.computeIfAbsent(f.symbols, this::remapFrom);
+                addFlight(new Flight(symbols, f.year, f.month, f.day, f.dep_time, f.arr_time, f.air_time, remap[0][f.carrierId],
+                        remap[2][f.tailnumId], f.flight, remap[1][f.originId], remap[1][f.destId], f.distance));
+            }
+        }
+
+        // Same as loadFlightsFromList for the columnar table; the table is not changed
+        public void loadFlightsFromTable(FlightTable table) {
+            int[][] remap = remapFrom(table.symbols);
+            for (int row = 0; row < table.size(); row++) addFlight(table.toFlight(row, symbols, remap));
+        }
+
+        // Ids of source in the scheduler's dictionaries; the usage counters are not merged, nothing reports them here
+        private int[][] remapFrom(FlightSymbols source) {
+            int[][] remap = symbols.extendRemap(source, remaps.get(source));
+            remaps.put(source, remap);
+            return remap;
+        }
+
+        // f is encoded with the scheduler's dictionaries
+        private void addFlight(Flight f) {
+            long key = packKey(f.year, f.month, f.day, f.carrierId, f.flight);
+            if (key == NO_KEY) throw new IllegalArgumentException("flight cannot be keyed: " + f);
+            int id = flightMap.get(key);
+            if (id != LongIntHashMap.MISSING) {
+                // same key loaded again: the new flight replaces the old one under the same id
+                index.remove(id, flights.get(id));
+                flights.set(id, f);
+            } else {
+                id = flights.size();
+                flights.add(f);
+                flightMap.put(key, id);
+            }
+            index.add(id, f);
+            // if the origin is already ECI treat it as reallocated/cancelled
+            if (f.originId == eci) {
+                reallocatedSet.add(key);
+            }
+            if (reallocatedSet.contains(key)) index.markReallocated(id);
+        }
+
+        // Mark a flight as re-allocated to ECI and update origin in map if present.
+        public void reallocate(int day, int month, int year, String flightCode) {
+            // flightCode expected format: "CARRIER-flightNumber" (demo); but we will support direct numeric flight if needed
+            if (flightCode == null) flightCode = "";
+            int end = carrierEnd(flightCode);
+            int carrierId = symbols.carriers.idOf(flightCode, 0, end);
+            // a carrier we have no flights of yet still gets an id, so flights loaded later see the reallocation
+            if (carrierId < 0) carrierId = symbols.carriers.encode(flightCode.substring(0, end));
+            long key = packKey(year, month, day, carrierId, flightNumber(flightCode));
+            if (key == NO_KEY) return; // no flight can have this key
+            reallocatedSet.add(key);
+            int id = flightMap.get(key);
+            if (id != LongIntHashMap.MISSING) {
+                Flight f = flights.get(id);
+                String oldOrigin = f.origin();
+                f.setOrigin("ECI"); // update origin to ECI
+                index.originChanged(id, oldOrigin, f);
+                index.markReallocated(id);
+            }
+        }
+
+        /**
+         * Reallocate many flights, given by scheduler id, in one call: same effect as calling
+         * reallocate() for each of them, without building or parsing flight codes.
+         * Returns the number of flights that were not reallocated before.
+         */
+        int reallocateAll(int[] ids) {
+            int moved = 0;
+            for (int id : ids) {
+                Flight f = flights.get(id);
+                if (!reallocatedSet.add(packKey(f.year, f.month, f.day, f.carrierId, f.flight))) continue;
+                String oldOrigin = f.origin();
+                f.setOrigin("ECI");
+                index.originChanged(id, oldOrigin, f);
+                index.markReallocated(id);
+                moved++;
+            }
+            return moved;
+        }
+
+        // Scheduler ids of the flights currently leaving origin, in increasing order
+        int[] idsFrom(String origin) {
+            return index.byOrigin(origin);
+        }
+
+        public int countFrom(String origin) {
+            return index.countByOrigin(origin);
+        }
+
+        // Check returns true if flight is OK (not reallocated/cancelled), false otherwise
+        public boolean check(int day, int month, int year, String flightCode) {
+            if (flightCode == null) flightCode = "";
+            int carrierId = symbols.carriers.idOf(flightCode, 0, carrierEnd(flightCode));
+            return check(packKey(year, month, day, carrierId, flightNumber(flightCode)));
+        }
+
+        // Same as check(day, month, year, "CARRIER-flightNo") without parsing a flight code
+        public boolean check(int day, int month, int year, String carrier, int flightNo) {
+            int carrierId = carrier == null ? -1 : symbols.carriers.idOf(carrier);
+            return check(packKey(year, month, day, carrierId, flightNo));
+        }
+
+        private boolean check(long key) {
+            // If flight not found in map, assume cancelled -> return false
+            if (key == NO_KEY || !flightMap.containsKey(key)) return false;
+            // If present but in reallocatedSet -> return false
+            return !reallocatedSet.contains(key);
+        }
+
+        // ---------- Secondary index queries ----------
+        public List<Flight> flightsFrom(String origin) {
+            return toFlights(index.byOrigin(origin));
+        }
+
+        public List<Flight> flightsOf(String carrier) {
+            return toFlights(index.byCarrier(carrier));
+        }
+
+        public List<Flight> flightsOn(int day, int month, int year) {
+            return toFlights(index.byDate(year, month, day));
+        }
+
+        public List<Flight> flightsOfTail(String tailnum) {
+            return toFlights(index.byTailnum(tailnum));
+        }
+
+        public List<Flight> reallocatedFlights(String carrier, int day, int month, int year) {
+            return toFlights(index.reallocatedOn(carrier, year, month, day));
+        }
+
+        public List<Flight> legsFlownBy(String tailnum, int month, int year) {
+            return toFlights(index.tailnumInMonth(tailnum, year, month, flights));
+        }
+
+        private List<Flight> toFlights(int[] ids) {
+            List<Flight> out = new ArrayList<>(ids.length);
+            for (int id : ids) out.add(flights.get(id));
+            return out;
+        }
+
+        // ---------- Flight keys ----------
+        // Key layout (always >= 0): bits 42..62 FlightIndex.dateCode, bits 32..41 carrier id, bits 0..31 flight number
+        static final long NO_KEY = -1L;
+        private static final int MAX_YEAR = 5000;
+        private static final int MAX_CARRIERS = 1 << 10;
+
+        static long packKey(int year, int month, int day, int carrierId, int flightNum) {
+            if (year < 0 || year > MAX_YEAR || month < 1 || month > 12 || day < 1 || day > 31) return NO_KEY;
+            if (carrierId < 0 || carrierId >= MAX_CARRIERS) return NO_KEY;
+            return (long) FlightIndex.dateCode(year, month, day) << 42 | (long) carrierId << 32 | (flightNum & 0xFFFFFFFFL);
+        }
+
+        // Length of the carrier part of a flight code: "AA-401" -> "AA".
+        // As with split("-"), a code without anything after its dashes ("AA", "AA-") is all carrier.
+        static int carrierEnd(String flightCode) {
+            int dash = flightCode.indexOf('-');
+            return dash >= 0 && hasPieceAfter(flightCode, dash) ? dash : flightCode.length();
+        }
+
+        // "AA-401" -> 401; 0 if there is no flight number or it is not a number
+        static int flightNumber(String flightCode) {
+            int dash = flightCode.indexOf('-');
+            if (dash < 0 || !hasPieceAfter(flightCode, dash)) return 0;
+            int end = flightCode.indexOf('-', dash + 1);
+            if (end < 0) end = flightCode.length();
+            try { return Integer.parseInt(flightCode, dash + 1, end, 10); } catch (NumberFormatException e) { return 0; }
+        }
+
+        private static boolean hasPieceAfter(String flightCode, int dash) {
+            for (int i = dash + 1; i < flightCode.length(); i++) {
+                if (flightCode.charAt(i) != '-') return true;
+            }
+            return false;
+        }
+    }
+
+    // ---------- Part 4: Graph problems ----------
+    public static void part4(FlightTable t, boolean parallel) {
+        System.out.println("\n=== PART 4 === (Graph reachability ignoring direction)");
+
+        // Undirected airport graph in CSR form over the airport codes
+        AirportGraph graph = AirportGraph.build(t, false);
+        AirportGraph.Bfs bfs = graph.newBfs();
+        int ewr = t.airports.idOf("EWR");
+
+        // 1. How many different airports can you reach from EWR by taking two flights?
+        // end points of any two consecutive flights, then remove EWR itself if present
+        BitSet afterTwoCodes = new BitSet();
+        if (ewr >= 0) {
+            afterTwoCodes.or(bfs.walkEnds(ewr, 2));
+            afterTwoCodes.clear(ewr);
+        }
+        Set<String> afterTwo = decode(afterTwoCodes, t.airports);
+        System.out.println("Distinct airports reachable from EWR in 2 flights: " + afterTwo.size());
+        // print sample subset
+        System.out.println("Sample: " + afterTwo.stream().limit(20).collect(Collectors.toList()));
+
+        // 3. How many different airports can you reach from EWR by taking three flights?
+        // level-order BFS up to depth 3, undirected, and collect nodes at depth 3
+        BitSet afterThreeCodes = new BitSet();
+        if (ewr >= 0) afterThreeCodes.or(bfs.atDistance(ewr, 3));
+        Set<String> afterThree = decode(afterThreeCodes, t.airports);
+        System.out.println("Distinct airports reachable from EWR in 3 flights: " + afterThree.size());
+        System.out.println("Sample: " + afterThree.stream().limit(20).collect(Collectors.toList()));
+
+        // k-hop reachability from every airport, undirected and directed
+        AirportGraph directed = AirportGraph.build(t, true);
+        for (AirportGraph g : new AirportGraph[]{graph, directed}) {
+            long t0 = System.nanoTime();
+            short[] hops = g.allPairsHops(parallel);
+            long nanos = System.nanoTime() - t0;
+            int[] reachable = g.reachableCounts(hops);
+            int diameter = 0;
+            for (short h : hops) diameter = Math.max(diameter, h);
+            System.out.printf("All-pairs hops (%s, %d airports, %d edges) in %.2f ms: diameter %d, EWR reaches %d airports%n",
+                    g.directed ? "directed" : "undirected", g.airports(), g.edges(), nanos / 1e6, diameter,
+                    ewr >= 0 ? reachable[ewr] : 0);
+        }
+
+        // Time-respecting reachability: flights must connect (>= 30 min on the ground), 05:00-18:00 on one day
+        if (ewr < 0) return;
+        final int MIN_CONNECTION = 30;
+        long t0 = System.nanoTime();
+        TemporalReachability temporal = new TemporalReachability(t);
+        long buildNanos = System.nanoTime() - t0;
+        long jan1 = FlightTable.toEpochMinutes(LocalDateTime.of(2013,1,1,0,0));
+        TemporalReachability.Query query = temporal.new Query(2);
+        BitSet byEvening = query.run(ewr, jan1 + 5 * 60, jan1 + 18 * 60, MIN_CONNECTION);
+        // the same flights without the clock: directed routes, 1 or 2 legs, EWR itself excluded
+        AirportGraph.Bfs directedBfs = directed.newBfs();
+        BitSet upToTwo = new BitSet();
+        upToTwo.or(directedBfs.walkEnds(ewr, 1));
+        upToTwo.or(directedBfs.walkEnds(ewr, 2));
+        upToTwo.clear(ewr);
+        System.out.println("Reachable from EWR on 2013-01-01 05:00-18:00 with <= 2 connecting flights: " + byEvening.cardinality()
+                + " (ignoring time: " + upToTwo.cardinality() + ")");
+
+        t0 = System.nanoTime();
+        int[] perDay = temporal.sweepDays(ewr, jan1, 365, 5 * 60, 18 * 60, 2, MIN_CONNECTION, parallel);
+        long sweepNanos = System.nanoTime() - t0;
+        IntSummaryStatistics days = Arrays.stream(perDay).summaryStatistics();
+        System.out.printf("Same query for every day of 2013: min %d, avg %.1f, max %d airports (%d connections indexed in %.1f ms, 365 days in %.1f ms)%n",
+                days.getMin(), days.getAverage(), days.getMax(), temporal.connections(), buildNanos / 1e6, sweepNanos / 1e6);
+    }
+
+    // ---------- Part 5: Maximum flights in 2013 starting 2013-01-01 05:00 ----------
+    /**
+     * We implement a beam-search heuristic that explores multiple promising itineraries.
+     * - Start at each of EWR, LGA, JFK at 2013-01-01 05:00 (inclusive)
+     * - At each step, consider flights departing from current airport with departure >= current time
+     * - For each candidate flight, produce a new itinerary; keep only top-K itineraries by
+     * (1) number of flights taken (desc), (2) earlier current time (asc) as tie-breaker.
+     * - Repeat until no itineraries can be expanded or we exceed 2013-12-31 23:59.
+     * Beam width K is adjustable; larger K gives better result at cost of time/memory.
+     * The search itself runs in BeamSearchEngine (primitive states, bounded-heap top-K,
+     * duplicate (airport, time) states removed).
+     */
+    public static int part5(FlightTable t) {
+        return part5(t, departures2013(t), new BeamSearchEngine.Config(200, 30)); // larger -> better result but slower/more memory
+    }
+
+    public static int part5(FlightTable t, DepartureIndex departures, BeamSearchEngine.Config cfg) {
+        System.out.println("\n=== PART 5 === (Max flights in 2013 heuristic)");
+
+        // beam search: initial states at each of EWR, LGA, JFK at 2013-01-01 05:00
+        long startTime = FlightTable.toEpochMinutes(LocalDateTime.of(2013,1,1,5,0));
+        long endOf2013 = FlightTable.toEpochMinutes(LocalDateTime.of(2013,12,31,23,59));
+        BeamSearchEngine engine = new BeamSearchEngine(t, departures, endOf2013, cfg);
+        BeamSearchEngine.Result r = engine.run(startTime, t.airports.idOf("EWR"), t.airports.idOf("LGA"), t.airports.idOf("JFK"));
+        int bestFlights = r.bestFlights;
+
+        System.out.printf("Beam width %d, %d options per state%s%s: %d iterations, %d candidates in %.1f ms (%.0f iterations/sec)%n",
+                cfg.beamWidth, cfg.maxOptionsPerState, cfg.dedup ? ", dedup" : "", cfg.parallel ? ", parallel" : "",
+                r.iterations, r.candidates, r.nanos / 1e6, r.iterationsPerSecond());
+        if (cfg.trackPath) {
+            System.out.printf("Best itinerary (%d parent-pointer nodes, ~%.1f MB):%n", r.pathNodes, r.pathBytes / 1e6);
+            printItinerary(t, r.itinerary);
+        }
+        System.out.println("Beam-search heuristic best flights count found: " + bestFlights);
+        return bestFlights;
+    }
+
+    // Part 5 solved exactly (FlightChainSolver): the optimal count and one itinerary that reaches it
+    public static int part5Exact(FlightTable t, DepartureIndex departures) {
+        System.out.println("\n=== PART 5 === (Max flights in 2013, exact)");
+        long startTime = FlightTable.toEpochMinutes(LocalDateTime.of(2013,1,1,5,0));
+        long endOf2013 = FlightTable.toEpochMinutes(LocalDateTime.of(2013,12,31,23,59));
+
+        FlightChainSolver solver = new FlightChainSolver(t, departures, startTime, endOf2013);
+        FlightChainSolver.Result r = solver.solve(t.airports.idOf("EWR"), t.airports.idOf("LGA"), t.airports.idOf("JFK"));
+
+        System.out.printf("Exact maximum flights count: %d (solved in %.1f ms)%n", r.count, r.nanos / 1e6);
+        printItinerary(t, r.itinerary);
+        return r.count;
+    }
+
+    // First and last legs of an itinerary (table rows in flying order)
+    static void printItinerary(FlightTable t, int[] itinerary) {
+        int shown = 5;
+        for (int i = 0; i < itinerary.length; i++) {
+            if (i == shown && itinerary.length > 2 * shown) {
+                System.out.println("  ... " + (itinerary.length - 2 * shown) + " more legs ...");
+                i = itinerary.length - shown;
+            }
+            int row = itinerary[i];
+            System.out.println("  " + (i + 1) + ". " + FlightTable.fromEpochMinutes(t.depEpochMin[row]) + " " + t.originOf(row) + " -> "
+                    + t.destOf(row) + " (" + t.carrierOf(row) + "-" + t.flight[row] + "), arrives " + FlightTable.fromEpochMinutes(t.arrEpochMin[row]));
+        }
+    }
+
+    // ---------- Concurrent FlightScheduler demo (--concurrent) ----------
+    /**
+     * Reader threads call check()/originOf() on random flights while this thread reallocates
+     * every 10th flight. A reader that sees a flight as not OK must see its origin as ECI.
+     */
+    public static void concurrentSchedulerDemo(FlightTable table, int readers) throws InterruptedException {
+        System.out.println("\n--- Concurrent FlightScheduler: " + readers + " readers, 1 writer ---");
+        ConcurrentFlightScheduler scheduler = new ConcurrentFlightScheduler();
+        scheduler.loadFlightsFromTable(table);
+        if (table.size == 0) return;
+
+        AtomicBoolean done = new AtomicBoolean();
+        LongAdder checks = new LongAdder();
+        LongAdder violations = new LongAdder();
+        Thread[] threads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            long seed = r;
+            threads[r] = new Thread(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed);
+                long n = 0;
+                while (!done.get()) {
+                    int row = rnd.nextInt(table.size);
+                    String carrier = table.carrierOf(row);
+                    if (!scheduler.check(table.day[row], table.month[row], table.year[row], carrier, table.flight[row])
+                            && !"ECI".equals(scheduler.originOf(table.day[row], table.month[row], table.year[row], carrier, table.flight[row]))) {
+                        violations.increment();
+                    }
+                    n++;
+                }
+                checks.add(n);
+            });
+            threads[r].start();
+        }
+
+        long t0 = System.nanoTime();
+        for (int row = 0; row < table.size; row += 10) {
+            scheduler.reallocate(table.day[row], table.month[row], table.year[row], table.carrierOf(row) + "-" + table.flight[row]);
+        }
+        long writeNanos = System.nanoTime() - t0;
+        done.set(true);
+        for (Thread t : threads) t.join();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("Reallocated %d flights in %d ms; %d checks (%.0f checks/sec), invariant violations: %d%n",
+                scheduler.reallocatedCount(), writeNanos / 1_000_000, checks.sum(), checks.sum() / seconds, violations.sum());
+    }
+
+    // Flights that part5 may use: both times known and the flight is in 2013
+    private static boolean usableIn2013(FlightTable t, int row) {
+        return t.depEpochMin[row] != FlightTable.NA_TIME && t.arrEpochMin[row] != FlightTable.NA_TIME && t.year[row] == 2013;
+    }
+
+    // Departures of the flights part5 may use, shared by the beam search and the exact solver
+    static DepartureIndex departures2013(FlightTable t) {
+        long t0 = System.nanoTime();
+        DepartureIndex departures = new DepartureIndex(t, row -> usableIn2013(t, row));
+        System.out.printf("%nDeparture index: %d airports, ~%.1f MB, built in %.1f ms%n",
+                departures.airports(), departures.heapBytes() / 1e6, (System.nanoTime() - t0) / 1e6);
+        return departures;
+    }
+
+    // ---------- main ----------
+    public static void main(String[] args) {
+     String CSV_FILE = "src/major_assignment2/flights.csv";
+        boolean parallel = false;
+        boolean useSnapshot = true;
+        boolean concurrentDemo = false;
+        String part5Mode = "both";
+        int beamWidth = 200, beamOptions = 30;
+        boolean beamDedup = true, beamPath = true;
+        long tailPollMillis = -1;
+        int tailIdlePolls = 0;
+        int hllPrecision = 0;
+        for (String arg : args) {
+            if (arg.equals("--parallel")) parallel = true;
+            else if (arg.equals("--no-snapshot")) useSnapshot = false;
+            else if (arg.equals("--concurrent")) concurrentDemo = true;
+            else if (arg.startsWith("--part5=")) part5Mode = arg.substring("--part5=".length());
+            else if (arg.startsWith("--beam-width=")) beamWidth = (int) intFlag(arg, "--beam-width=N with N >= 1", 1, Integer.MAX_VALUE);
+            else if (arg.startsWith("--beam-options=")) beamOptions = (int) intFlag(arg, "--beam-options=N with N >= 1", 1, Integer.MAX_VALUE);
+            else if (arg.equals("--beam-no-dedup")) beamDedup = false;
+            else if (arg.equals("--beam-count-only")) beamPath = false;
+            else if (arg.equals("--hll")) hllPrecision = 12;
+            else if (arg.startsWith("--hll=")) {
+                // checked here rather than by HyperLogLog in the middle of part 2; 0 would silently turn the sketches off
+                String p = arg.substring("--hll=".length());
+                hllPrecision = p.matches("\\d{1,2}") ? Integer.parseInt(p) : -1;
+                if (hllPrecision < HyperLogLog.MIN_PRECISION || hllPrecision > HyperLogLog.MAX_PRECISION) {
+                    System.err.println("Usage: --hll[=P] with precision P in " + HyperLogLog.MIN_PRECISION + ".." + HyperLogLog.MAX_PRECISION + ", not \"" + p + "\"");
+                    System.exit(2);
+                }
+            }
+            else if (arg.equals("--tail")) tailPollMillis = 1000;
+            else if (arg.startsWith("--tail=")) tailPollMillis = intFlag(arg, "--tail[=MS] with a poll interval MS >= 0", 0, Long.MAX_VALUE);
+            else if (arg.startsWith("--tail-idle=")) tailIdlePolls = (int) intFlag(arg, "--tail-idle=N with N >= 0 (0 = never stop)", 0, Integer.MAX_VALUE);
+            else if (!arg.startsWith("--")) CSV_FILE = arg;
+        }
+        if ((long) beamWidth * beamOptions > Integer.MAX_VALUE) {
+            // the beam keeps width * options candidate slots in int-indexed arrays
+            System.err.println("Usage: --beam-width=N --beam-options=M with N * M <= " + Integer.MAX_VALUE);
+            System.exit(2);
+        }
+
+        try {
+            if (tailPollMillis >= 0) {
+                FlightStream.tail(CSV_FILE, tailPollMillis, tailIdlePolls);
+                return;
+            }
+            FlightTable table = loadTable(CSV_FILE, parallel, useSnapshot);
+
+            // PART 1
+            part1(table, parallel);
+
+            // PART 2
+            part2(table, parallel, hllPrecision);
+
+            // PART 3
+            part3(table);
+            if (concurrentDemo) concurrentSchedulerDemo(table, Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+
+            // PART 4
+            part4(table, parallel);
+
+            // PART 5 (heuristic and/or exact)
+            DepartureIndex departures = departures2013(table);
+            if (!part5Mode.equals("exact")) {
+                BeamSearchEngine.Config beam = new BeamSearchEngine.Config(beamWidth, beamOptions);
+                beam.dedup = beamDedup;
+                beam.parallel = parallel;
+                beam.trackPath = beamPath;
+                int maxFlights = part5(table, departures, beam);
+                System.out.println("Heuristic maximum flights in 2013 (approx): " + maxFlights);
+            }
+            if (!part5Mode.equals("beam")) part5Exact(table, departures);
+
+        } catch (IOException e) {
+            System.err.println("Failed to load/parse CSV file: " + e.getMessage());
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Value of a --name=N flag; a usage error (exit 2) if N is not an integer in min..max
+    private static long intFlag(String arg, String usage, long min, long max) {
+        String value = arg.substring(arg.indexOf('=') + 1);
+        long n;
+        try {
+            n = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            n = min - 1;
+        }
+        if (n < min || n > max) {
+            System.err.println("Usage: " + usage + ", not \"" + value + "\"");
+            System.exit(2);
+        }
+        return n;
+    }
+
+    /**
+     * Columnar table used by all parts: from the snapshot if it matches the CSV, otherwise
+     * parsed from the CSV (and the snapshot written for the next run).
+     */
+    static FlightTable loadTable(String csvFile, boolean parallelIngest, boolean useSnapshot) throws IOException {
+        long t0 = System.nanoTime();
+        if (useSnapshot) {
+            FlightTable table = FlightSnapshot.readIfFresh(csvFile);
+            if (table != null) {
+                System.out.println("Loaded flights: " + table.size() + " from snapshot " + FlightSnapshot.snapshotPathFor(csvFile)
+                        + " in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+                return table;
+            }
+        }
+
+        System.out.println("Loading CSV: " + csvFile + " (this may take a moment) ...");
+        FlightsCsvLoader loader = new FlightsCsvLoader(csvFile);
+        List<Flight> flights = parallelIngest ? loader.loadParallel() : loader.load();
+        System.out.println("Loaded flights: " + flights.size() + " in " + (System.nanoTime() - t0) / 1_000_000 + " ms"
+                + (parallelIngest ? " (parallel)" : "")
+                + " (rows read: " + loader.getRowsRead() + ", skipped NA/empty: " + loader.getRowsSkippedNA()
+                + ", skipped malformed: " + loader.getRowsSkippedMalformed() + ")");
+        System.out.println(loader.getSymbols().report());
+
+        // the List<Flight> is not needed once the table is built
+        FlightTable table = FlightTable.fromFlights(flights);
+        System.out.printf("Heap footprint: FlightTable ~%.1f MB vs List<Flight> ~%.1f MB%n",
+                table.heapBytes() / 1e6, HeapSize.flightListBytes(flights) / 1e6);
+
+        if (useSnapshot) {
+            try {
+                long t1 = System.nanoTime();
+                FlightSnapshot.write(table, csvFile);
+                System.out.println("Wrote snapshot " + FlightSnapshot.snapshotPathFor(csvFile) + " in " + (System.nanoTime() - t1) / 1_000_000 + " ms");
+            } catch (IOException e) {
+                System.err.println("Could not write snapshot: " + e.getMessage());
+            }
+        }
+        return table;
+    }
 }
\ No newline at end of file
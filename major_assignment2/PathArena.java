@@ -0,0 +1,46 @@
+package major_assignment2;
+
+/**
+ * PathArena.java
+ *
+ * Shared store of search paths as parent pointers: node n is "the path of node parent(n),
+ * followed by the flight in table row row(n)". A path of any length costs one node (two ints)
+ * on top of its parent, so states can share prefixes instead of copying lists.
+ * Node ids are handed out in order; NONE is the empty path.
+ */
+
+class PathArena {
+    static final int NONE = -1;
+
+    private final IntList parents;
+    private final IntList rows;
+
+    PathArena(int expectedNodes) {
+        parents = new IntList(expectedNodes);
+        rows = new IntList(expectedNodes);
+    }
+
+    // New node: the path of parent extended by row
+    int add(int parent, int row) {
+        parents.add(parent);
+        rows.add(row);
+        return rows.size() - 1;
+    }
+
+    // Rows of the path ending in node, first flight first
+    int[] path(int node) {
+        int length = 0;
+        for (int n = node; n != NONE; n = parents.get(n)) length++;
+        int[] out = new int[length];
+        for (int n = node, i = length - 1; n != NONE; n = parents.get(n), i--) out[i] = rows.get(n);
+        return out;
+    }
+
+    int nodes() {
+        return rows.size();
+    }
+
+    long heapBytes() {
+        return 16 + parents.heapBytes() + rows.heapBytes();
+    }
+}
@@ -0,0 +1,112 @@
+package major_assignment2;
+
+/**
+ * ReallocationPlanner.java
+ *
+ * Executes the part 3 rebalancing on a FlightScheduler: for every surplus airport, choose the
+ * flights to move to ECI and reallocate all of them in one batched scheduler call.
+ *
+ * The flights of an airport are taken evenly spread over its schedule (every n/k-th flight in
+ * scheduler order, i.e. file order), so ECI gets a share of every day instead of, say, all of
+ * January. Planning is one pass over each airport's origin postings: O(flights) overall.
+ *
+ * Moves are given either as counts (move) or as the number of flights an airport should end
+ * with (target). Targets are turned into moves from the scheduler's own counts, which hold one
+ * flight per key (date, carrier, flight number), so the airports end exactly at their targets.
+ */
+
+import java.util.*;
+
+import major_assignment2.MajorAssignment2.FlightScheduler;
+
+public class ReallocationPlanner {
+    static final String ECI = "ECI";
+
+    private final FlightScheduler scheduler;
+    private final Map<String, Long> moves = new LinkedHashMap<>(); // airport -> flights to move to ECI
+    private final Map<String, Long> targets = new HashMap<>();     // airport -> flights it should end with
+
+    public ReallocationPlanner(FlightScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // Move count flights (at most all of them) from airport to ECI
+    public void move(String airport, long count) {
+        if (count > 0) moves.merge(airport, count, Long::sum);
+    }
+
+    // Airport should end with count flights: its surplus over count (by the scheduler's current
+    // count) is moved to ECI. For ECI itself the target is only shown in the report.
+    public void target(String airport, long count) {
+        targets.put(airport, count);
+        if (!airport.equals(ECI)) move(airport, scheduler.countFrom(airport) - count);
+    }
+
+    // ---------- Planning ----------
+    // Scheduler ids chosen per airport, in the order the moves were registered
+    public Map<String, int[]> plan() {
+        Map<String, int[]> plan = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> move : moves.entrySet()) {
+            int[] candidates = scheduler.idsFrom(move.getKey());
+            int take = (int) Math.min(move.getValue(), candidates.length);
+            int[] chosen = new int[take];
+            // k-th pick is candidate floor(k * n / take): evenly strided, strictly increasing
+            for (int k = 0; k < take; k++) chosen[k] = candidates[(int) ((long) k * candidates.length / take)];
+            plan.put(move.getKey(), chosen);
+        }
+        return plan;
+    }
+
+    // ---------- Execution ----------
+    // Plan and apply the moves; the report has per-airport counts before and after
+    public Report execute() {
+        Report r = new Report();
+        r.targets.putAll(targets);
+        for (String airport : airports()) r.before.put(airport, scheduler.countFrom(airport));
+
+        long t0 = System.nanoTime();
+        Map<String, int[]> plan = plan();
+        r.planNanos = System.nanoTime() - t0;
+
+        IntList all = new IntList();
+        for (int[] ids : plan.values()) for (int id : ids) all.add(id);
+        long t1 = System.nanoTime();
+        r.moved = scheduler.reallocateAll(all.toArray());
+        r.applyNanos = System.nanoTime() - t1;
+
+        for (String airport : airports()) r.after.put(airport, scheduler.countFrom(airport));
+        return r;
+    }
+
+    private List<String> airports() {
+        List<String> out = new ArrayList<>(moves.keySet());
+        if (!out.contains(ECI)) out.add(ECI);
+        return out;
+    }
+
+    public static class Report {
+        final Map<String, Integer> before = new LinkedHashMap<>();
+        final Map<String, Integer> after = new LinkedHashMap<>();
+        final Map<String, Long> targets = new HashMap<>();
+        int moved;
+        long planNanos, applyNanos;
+
+        public int moved() {
+            return moved;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Bulk reallocation to ECI (flights per origin, before -> after):");
+            for (String airport : before.keySet()) {
+                sb.append(String.format("%n  %-4s %7d -> %7d", airport, before.get(airport), after.get(airport)));
+                Long target = targets.get(airport);
+                if (target != null) sb.append(String.format("  (target %d, %+d)", target, after.get(airport) - target));
+            }
+            double seconds = (planNanos + applyNanos) / 1e9;
+            sb.append(String.format("%n  moved %d flights, plan %.1f ms + apply %.1f ms (%.0f flights/sec)",
+                    moved, planNanos / 1e6, applyNanos / 1e6, seconds > 0 ? moved / seconds : 0.0));
+            return sb.toString();
+        }
+    }
+}
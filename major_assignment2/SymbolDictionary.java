@@ -0,0 +1,136 @@
+package major_assignment2;
+
+/**
+ * SymbolDictionary.java
+ *
+ * Maps short text codes (carrier, airport, tailnum) to dense int ids 0..size()-1 and back.
+ * Ids are handed out in order of first appearance.
+ *
+ * Besides the String API there is a byte-level lookup (encode(byte[], off, len)) used by the
+ * CSV loader: it hashes the raw bytes into an open-addressing table, so a symbol that is
+ * already known costs no String allocation at all.
+ *
+ * Not thread-safe: a dictionary is filled by one loader thread (parallel loads use one
+ * dictionary per chunk and merge them afterwards), after which it is only read.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class SymbolDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<byte[]> keys = new ArrayList<>();
+
+    // open addressing over the UTF-8 bytes of each symbol: slot holds id + 1, 0 = empty
+    private int[] slots = new int[64];
+
+    // Returns the id of the symbol, adding it if it is new
+    public int encode(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) return id;
+        byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+        return add(symbol, bytes, slotOf(bytes, 0, bytes.length));
+    }
+
+    // Same as encode(String) for the bytes buf[off, off+len), without creating a String for known symbols
+    public int encode(byte[] buf, int off, int len) {
+        int slot = slotOf(buf, off, len);
+        if (slots[slot] != 0) return slots[slot] - 1;
+        byte[] bytes = Arrays.copyOfRange(buf, off, off + len);
+        return add(new String(bytes, StandardCharsets.UTF_8), bytes, slot);
+    }
+
+    // Returns the id of the symbol, or -1 if it was never encoded
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    // Same as idOf(symbol.substring(from, to)) without creating the substring for ASCII symbols
+    public int idOf(String symbol, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            char c = symbol.charAt(i);
+            if (c >= 0x80) return idOf(symbol.substring(from, to));
+            h = 31 * h + (byte) c;
+        }
+        int mask = slots.length - 1;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (slots[slot] != 0) {
+            byte[] k = keys.get(slots[slot] - 1);
+            if (asciiEquals(k, symbol, from, to)) return slots[slot] - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean asciiEquals(byte[] k, String s, int from, int to) {
+        if (k.length != to - from) return false;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != s.charAt(from + i)) return false;
+        }
+        return true;
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private int add(String symbol, byte[] bytes, int slot) {
+        int newId = names.size();
+        ids.put(symbol, newId);
+        names.add(symbol);
+        keys.add(bytes);
+        slots[slot] = newId + 1;
+        if (names.size() * 2 > slots.length) rehash();
+        return newId;
+    }
+
+    // Slot holding these bytes, or the empty slot where they would go
+    private int slotOf(byte[] buf, int off, int len) {
+        int mask = slots.length - 1;
+        int slot = hash(buf, off, len) & mask;
+        while (slots[slot] != 0) {
+            byte[] k = keys.get(slots[slot] - 1);
+            if (Arrays.equals(k, 0, k.length, buf, off, off + len)) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < keys.size(); id++) {
+            byte[] k = keys.get(id);
+            int slot = hash(k, 0, k.length) & mask;
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int hash(byte[] buf, int off, int len) {
+        int h = 1;
+        for (int i = off; i < off + len; i++) h = 31 * h + buf[i];
+        return h ^ (h >>> 16);
+    }
+
+    // Approximate heap bytes of the dictionary itself (64-bit JVM, compressed oops)
+    public long heapBytes() {
+        long bytes = 0;
+        for (int id = 0; id < names.size(); id++) {
+            bytes += HeapSize.stringBytes(names.get(id));   // one String, shared by both directions
+            bytes += HeapSize.arrayBytes(1, keys.get(id).length);
+            bytes += 32 + 16;                               // HashMap.Node + boxed Integer
+        }
+        bytes += HeapSize.arrayBytes(4, Math.max(16, names.size() * 2)); // HashMap table
+        bytes += 2 * HeapSize.arrayBytes(4, names.size());               // names and keys elements
+        bytes += HeapSize.arrayBytes(4, slots.length);
+        return bytes;
+    }
+}
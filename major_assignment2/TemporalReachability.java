@@ -0,0 +1,175 @@
+package major_assignment2;
+
+/**
+ * TemporalReachability.java
+ *
+ * Time-respecting reachability over the flights of a FlightTable: which airports can be
+ * reached from a source, leaving at or after a start time and landing by a deadline, with at
+ * most maxLegs flights and at least minConnection minutes between landing and the next
+ * departure.
+ *
+ * Connection scan: all flights with both times known are stored once, sorted by departure, in
+ * primitive arrays. A query binary-searches the first departure at or after the start time and
+ * scans forward until departures pass the deadline, keeping the earliest arrival per airport
+ * and per number of legs (arrival[legs][airport]); a flight is usable with legs + 1 legs if its
+ * origin was reached with legs legs early enough. O(flights in the window * maxLegs) per query.
+ *
+ * A Query object holds the per-query arrays and is reused between queries (one per thread).
+ * sweepDays() runs one query per day on fork-join workers.
+ */
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class TemporalReachability {
+    // Days per leaf task in sweepDays
+    static final int PARALLEL_LEAF_DAYS = 8;
+    static final long NEVER = Long.MAX_VALUE;
+
+    private final int nAirports;
+    private final long[] dep, arr;        // epoch minutes, sorted by (dep, row)
+    private final short[] from, to;
+
+    public TemporalReachability(FlightTable t) {
+        nAirports = t.airports.size();
+        int n = 0;
+        for (int i = 0; i < t.size; i++) {
+            if (t.depEpochMin[i] != FlightTable.NA_TIME && t.arrEpochMin[i] != FlightTable.NA_TIME) n++;
+        }
+        long[] keys = new long[n];
+        n = 0;
+        for (int i = 0; i < t.size; i++) {
+            if (t.depEpochMin[i] != FlightTable.NA_TIME && t.arrEpochMin[i] != FlightTable.NA_TIME) keys[n++] = (t.depEpochMin[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        dep = new long[n];
+        arr = new long[n];
+        from = new short[n];
+        to = new short[n];
+        for (int c = 0; c < n; c++) {
+            int row = (int) keys[c];
+            dep[c] = t.depEpochMin[row];
+            arr[c] = t.arrEpochMin[row];
+            from[c] = t.origin[row];
+            to[c] = t.dest[row];
+        }
+    }
+
+    public int connections() {
+        return dep.length;
+    }
+
+    // ---------- Single query ----------
+    /** Per-thread scratch space; results are valid until the next run() on this object. */
+    public class Query {
+        private final int maxLegs;
+        private final long[][] arrival;          // arrival[legs][airport], NEVER if not reached
+        private final long[] earliest = new long[nAirports];
+        private final BitSet reached = new BitSet(nAirports);
+
+        public Query(int maxLegs) {
+            if (maxLegs < 1) throw new IllegalArgumentException("maxLegs must be >= 1");
+            this.maxLegs = maxLegs;
+            arrival = new long[maxLegs + 1][nAirports];
+        }
+
+        /**
+         * Airports reachable from source (source excluded), departing at or after departAfter and
+         * arriving by arriveBy. earliestArrival() has the arrival times of the last run.
+         */
+        public BitSet run(int source, long departAfter, long arriveBy, int minConnection) {
+            for (long[] a : arrival) Arrays.fill(a, NEVER);
+            arrival[0][source] = departAfter;
+            for (int c = firstDeparture(departAfter); c < dep.length && dep[c] <= arriveBy; c++) {
+                if (arr[c] > arriveBy) continue;
+                int o = from[c], d = to[c];
+                // higher leg counts first, so a flight is not chained onto itself in the same scan step
+                for (int legs = maxLegs - 1; legs >= 0; legs--) {
+                    long ready = arrival[legs][o];
+                    if (ready == NEVER) continue;
+                    if (legs > 0) ready += minConnection;
+                    if (ready <= dep[c] && arr[c] < arrival[legs + 1][d]) arrival[legs + 1][d] = arr[c];
+                }
+            }
+            reached.clear();
+            for (int a = 0; a < nAirports; a++) {
+                long best = NEVER;
+                for (int legs = 1; legs <= maxLegs; legs++) best = Math.min(best, arrival[legs][a]);
+                earliest[a] = best;
+                if (best != NEVER && a != source) reached.set(a);
+            }
+            return reached;
+        }
+
+        // Earliest arrival per airport (epoch minutes, NEVER if not reachable) of the last run
+        public long[] earliestArrival() {
+            return earliest;
+        }
+    }
+
+    private int firstDeparture(long minute) {
+        int lo = 0, hi = dep.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dep[mid] < minute) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // ---------- Day sweep ----------
+    /**
+     * For each day starting at firstDay (epoch minutes of midnight), the number of airports
+     * reachable from source between firstDay + d days + departMinute and + arriveMinute.
+     */
+    public int[] sweepDays(int source, long firstDay, int days, int departMinute, int arriveMinute, int maxLegs,
+                           int minConnection, boolean parallel) {
+        int[] counts = new int[days];
+        DaysTask all = new DaysTask(counts, 0, days, source, firstDay, departMinute, arriveMinute, maxLegs, minConnection);
+        if (parallel && days > PARALLEL_LEAF_DAYS) ForkJoinPool.commonPool().invoke(all);
+        else all.sweep(0, days);
+        return counts;
+    }
+
+    private class DaysTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] counts;
+        private final int fromDay, toDay, source, departMinute, arriveMinute, maxLegs, minConnection;
+        private final long firstDay;
+
+        DaysTask(int[] counts, int fromDay, int toDay, int source, long firstDay, int departMinute, int arriveMinute,
+                 int maxLegs, int minConnection) {
+            this.counts = counts;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.source = source;
+            this.firstDay = firstDay;
+            this.departMinute = departMinute;
+            this.arriveMinute = arriveMinute;
+            this.maxLegs = maxLegs;
+            this.minConnection = minConnection;
+        }
+
+        void sweep(int fromDay, int toDay) {
+            Query q = new Query(maxLegs);
+            for (int d = fromDay; d < toDay; d++) {
+                long midnight = firstDay + d * 1440L;
+                counts[d] = q.run(source, midnight + departMinute, midnight + arriveMinute, minConnection).cardinality();
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (toDay - fromDay <= PARALLEL_LEAF_DAYS) {
+                sweep(fromDay, toDay);
+                return;
+            }
+            int mid = (fromDay + toDay) >>> 1;
+            invokeAll(new DaysTask(counts, fromDay, mid, source, firstDay, departMinute, arriveMinute, maxLegs, minConnection),
+                    new DaysTask(counts, mid, toDay, source, firstDay, departMinute, arriveMinute, maxLegs, minConnection));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package major_assignment2;
+
+/**
+ * BenchmarkData.java
+ *
+ * Inputs shared by the benchmarks: a FlightsDataGenerator CSV per (rows, seed), written once per
+ * JVM into a temporary directory that is deleted on exit (with the snapshots written next to
+ * the CSVs), and the FlightTable parsed from it. RETURN_SHARE of the flights fly back to New
+ * York, so the part 4 and part 5 searches have connections to follow.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import major_assignment2.MajorAssignment2.Flight;
+
+final class BenchmarkData {
+    static final long SEED = 2013;
+    static final double RETURN_SHARE = 0.4;
+
+    private static Path dir;
+    private static final Map<String, Path> csvs = new HashMap<>();
+    private static final Map<String, FlightTable> tables = new HashMap<>();
+
+    private BenchmarkData() {
+    }
+
+    static synchronized Path csv(int rows) {
+        return csvs.computeIfAbsent(rows + "-" + SEED, k -> {
+            try {
+                if (dir == null) {
+                    dir = Files.createTempDirectory("flights-bench");
+                    dir.toFile().deleteOnExit();
+                }
+                Path csv = dir.resolve("flights-" + k + ".csv");
+                FlightsDataGenerator.Config cfg = new FlightsDataGenerator.Config(rows);
+                cfg.seed = SEED;
+                cfg.returnShare = RETURN_SHARE;
+                new FlightsDataGenerator(cfg).write(csv);
+                csv.toFile().deleteOnExit();
+                FlightSnapshot.snapshotPathFor(csv.toString()).toFile().deleteOnExit(); // written by ParseBenchmark
+                return csv;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static synchronized FlightTable table(int rows) {
+        return tables.computeIfAbsent(rows + "-" + SEED, k -> {
+            try {
+                List<Flight> flights = new FlightsCsvLoader(csv(rows).toString()).load();
+                return FlightTable.fromFlights(flights);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
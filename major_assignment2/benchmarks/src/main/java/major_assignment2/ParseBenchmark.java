@@ -0,0 +1,83 @@
+package major_assignment2;
+
+/**
+ * ParseBenchmark.java
+ *
+ * CSV ingest: FlightsCsvLoader sequential and parallel, building the FlightTable, and the
+ * snapshot reload that replaces the parse on later runs. The Parsed counters turn the
+ * invocation rate into rows/s and bytes/s.
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import major_assignment2.MajorAssignment2.Flight;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParseBenchmark {
+    @Param({"336776"}) // rows of nycflights13::flights
+    public int rows;
+
+    private String csv;
+    private long csvBytes;
+    private List<Flight> flights;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Parsed {
+        public long rows;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        csv = BenchmarkData.csv(rows).toString();
+        csvBytes = Files.size(BenchmarkData.csv(rows));
+        flights = new FlightsCsvLoader(csv).load();
+        FlightSnapshot.write(FlightTable.fromFlights(flights), csv);
+    }
+
+    @Benchmark
+    public List<Flight> load(Parsed p) throws IOException {
+        List<Flight> out = new FlightsCsvLoader(csv).load();
+        p.rows += out.size();
+        p.bytes += csvBytes;
+        return out;
+    }
+
+    @Benchmark
+    public List<Flight> loadParallel(Parsed p) throws IOException {
+        List<Flight> out = new FlightsCsvLoader(csv).loadParallel();
+        p.rows += out.size();
+        p.bytes += csvBytes;
+        return out;
+    }
+
+    @Benchmark
+    public FlightTable toTable(Parsed p) {
+        p.rows += flights.size();
+        return FlightTable.fromFlights(flights);
+    }
+
+    @Benchmark
+    public FlightTable snapshotReload(Parsed p) throws IOException {
+        FlightTable t = FlightSnapshot.readIfFresh(csv);
+        p.rows += t.size();
+        return t;
+    }
+}
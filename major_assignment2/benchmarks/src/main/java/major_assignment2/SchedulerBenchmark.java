@@ -0,0 +1,100 @@
+package major_assignment2;
+
+/**
+ * SchedulerBenchmark.java
+ *
+ * check() throughput of FlightScheduler (flight-code string and carrier/number overloads) and
+ * of ConcurrentFlightScheduler, alone and with one thread reallocating next to the readers.
+ * Queries cycle through QUERIES flights of the table; every 8th has a flight number that does
+ * not exist, so misses are measured too.
+ */
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import major_assignment2.MajorAssignment2.FlightScheduler;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SchedulerBenchmark {
+    static final int QUERIES = 1 << 14;
+
+    @Param({"336776"})
+    public int rows;
+
+    private FlightScheduler scheduler;
+    private ConcurrentFlightScheduler concurrent;
+    private final int[] day = new int[QUERIES], month = new int[QUERIES], year = new int[QUERIES], flightNo = new int[QUERIES];
+    private final String[] carrier = new String[QUERIES], code = new String[QUERIES];
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            return next = (next + 1) & (QUERIES - 1);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        FlightTable t = BenchmarkData.table(rows);
+        scheduler = new FlightScheduler();
+        scheduler.loadFlightsFromTable(t);
+        concurrent = new ConcurrentFlightScheduler();
+        concurrent.loadFlightsFromTable(t);
+
+        SplittableRandom rnd = new SplittableRandom(BenchmarkData.SEED);
+        for (int q = 0; q < QUERIES; q++) {
+            int row = rnd.nextInt(t.size());
+            day[q] = t.day[row];
+            month[q] = t.month[row];
+            year[q] = t.year[row];
+            carrier[q] = t.carrierOf(row);
+            flightNo[q] = q % 8 == 7 ? 100_000 + q : t.flight[row];
+            code[q] = carrier[q] + "-" + flightNo[q];
+        }
+    }
+
+    @Benchmark
+    public boolean checkCode(Cursor c) {
+        int q = c.advance();
+        return scheduler.check(day[q], month[q], year[q], code[q]);
+    }
+
+    @Benchmark
+    public boolean checkCarrierFlight(Cursor c) {
+        int q = c.advance();
+        return scheduler.check(day[q], month[q], year[q], carrier[q], flightNo[q]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean concurrentCheck(Cursor c) {
+        int q = c.advance();
+        return concurrent.check(day[q], month[q], year[q], carrier[q], flightNo[q]);
+    }
+
+    // Readers and one writer in the same group, as in the --concurrent demo
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public boolean readWriteCheck(Cursor c) {
+        int q = c.advance();
+        return concurrent.check(day[q], month[q], year[q], carrier[q], flightNo[q]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void readWriteReallocate(Cursor c) {
+        int q = c.advance();
+        concurrent.reallocate(day[q], month[q], year[q], code[q]);
+    }
+}
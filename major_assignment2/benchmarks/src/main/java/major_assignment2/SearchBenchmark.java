@@ -0,0 +1,77 @@
+package major_assignment2;
+
+/**
+ * SearchBenchmark.java
+ *
+ * Part 4 and part 5 engines: the CSR airport graph and its all-pairs BFS, the time-respecting
+ * day sweep, the DepartureIndex, the part 5 beam search (width and parallelism as parameters)
+ * and the exact FlightChainSolver.
+ */
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SearchBenchmark {
+    @Param({"336776"})
+    public int rows;
+
+    @Param({"200"})
+    public int beamWidth;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private FlightTable t;
+    private DepartureIndex departures;
+    private TemporalReachability temporal;
+    private long jan1, start, endOf2013;
+    private int[] nyc;
+
+    @Setup
+    public void setup() {
+        t = BenchmarkData.table(rows);
+        departures = new DepartureIndex(t, row -> t.depEpochMin[row] != FlightTable.NA_TIME
+                && t.arrEpochMin[row] != FlightTable.NA_TIME && t.year[row] == 2013);
+        temporal = new TemporalReachability(t);
+        jan1 = FlightTable.toEpochMinutes(LocalDateTime.of(2013, 1, 1, 0, 0));
+        start = jan1 + 5 * 60;
+        endOf2013 = FlightTable.toEpochMinutes(LocalDateTime.of(2013, 12, 31, 23, 59));
+        nyc = new int[]{t.airports.idOf("EWR"), t.airports.idOf("LGA"), t.airports.idOf("JFK")};
+    }
+
+    @Benchmark
+    public short[] part4AllPairs() {
+        return AirportGraph.build(t, false).allPairsHops(parallel);
+    }
+
+    @Benchmark
+    public int[] part4DaySweep() {
+        return temporal.sweepDays(nyc[0], jan1, 365, 5 * 60, 18 * 60, 2, 30, parallel);
+    }
+
+    @Benchmark
+    public DepartureIndex departureIndex() {
+        return new DepartureIndex(t, row -> t.depEpochMin[row] != FlightTable.NA_TIME
+                && t.arrEpochMin[row] != FlightTable.NA_TIME && t.year[row] == 2013);
+    }
+
+    @Benchmark
+    public BeamSearchEngine.Result part5Beam() {
+        BeamSearchEngine.Config cfg = new BeamSearchEngine.Config(beamWidth, 30);
+        cfg.parallel = parallel;
+        return new BeamSearchEngine(t, departures, endOf2013, cfg).run(start, nyc);
+    }
+
+    @Benchmark
+    public FlightChainSolver.Result part5Exact() {
+        return new FlightChainSolver(t, departures, start, endOf2013).solve(nyc);
+    }
+}
@@ -0,0 +1,207 @@
+package my_f_inp_outp_project;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Connected components of a graph stored as compressed sparse rows (1-based node ids, as in
+ * GoogleWebGraph).
+ *
+ * - weak(): weakly connected components (edge directions ignored) with a lock-free union-find.
+ *   A root is linked under the smaller of the two roots by compareAndSet, and find() halves the
+ *   path with compareAndSet, so parents only ever point to smaller ids and no locks are needed.
+ *   With parallel on, the edges are split over node ranges on the common fork-join pool.
+ * - strong(): strongly connected components with Tarjan's algorithm, run iteratively with
+ *   explicit stacks (node, next edge), so a path of millions of nodes does not overflow the
+ *   thread stack.
+ */
+public class Components {
+    static final int LEAF_NODES = 1 << 15;
+
+    public static class Result {
+        public final int[] component;  // component id (0 .. count - 1) of every node, entry 0 unused
+        public final int[] size;       // nodes per component
+        public final long nanos;
+
+        Result(int[] component, int[] size, long nanos) {
+            this.component = component;
+            this.size = size;
+            this.nanos = nanos;
+        }
+
+        public int count() {
+            return size.length;
+        }
+
+        public int giant() {
+            int best = 0;
+            for (int c = 1; c < size.length; c++) {
+                if (size[c] > size[best]) best = c;
+            }
+            return best;
+        }
+
+        // Share of all nodes that are in the largest component
+        public double giantShare() {
+            return size.length == 0 ? 0 : (double) size[giant()] / (component.length - 1);
+        }
+
+        /** Component sizes in power-of-two buckets, empty ones left out: "1: n, 4-7: n, ..." (number of components). */
+        public String sizeDistribution() {
+            long[] buckets = new long[32];
+            for (int s : size) buckets[31 - Integer.numberOfLeadingZeros(s)]++;
+            StringJoiner out = new StringJoiner(", ");
+            for (int b = 0; b < buckets.length; b++) {
+                if (buckets[b] > 0) out.add((b == 0 ? "1" : (1L << b) + "-" + ((2L << b) - 1)) + ": " + buckets[b]);
+            }
+            return out.toString();
+        }
+    }
+
+    // ---------- Weakly connected components ----------
+    public static Result weak(int numNodes, int[] offsets, int[] targets, boolean parallel) {
+        long start = System.nanoTime();
+        AtomicIntegerArray parent = new AtomicIntegerArray(numNodes + 1);
+        for (int v = 0; v <= numNodes; v++) parent.set(v, v);
+
+        if (parallel && numNodes > LEAF_NODES) {
+            ForkJoinPool.commonPool().invoke(new UnionTask(parent, offsets, targets, 1, numNodes + 1));
+        } else {
+            unionRange(parent, offsets, targets, 1, numNodes + 1);
+        }
+
+        // number the roots in node order, then every node takes its root's number
+        int[] component = new int[numNodes + 1];
+        int count = 0;
+        for (int v = 1; v <= numNodes; v++) {
+            if (parent.get(v) == v) component[v] = count++;
+        }
+        int[] size = new int[count];
+        for (int v = 1; v <= numNodes; v++) {
+            component[v] = component[find(parent, v)];
+            size[component[v]]++;
+        }
+        return new Result(component, size, System.nanoTime() - start);
+    }
+
+    private static void unionRange(AtomicIntegerArray parent, int[] offsets, int[] targets, int from, int to) {
+        for (int u = from; u < to; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                union(parent, u, targets[e]);
+            }
+        }
+    }
+
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            // path halving: skip p; fails harmlessly if another thread moved x meanwhile
+            if (grandparent != p) parent.compareAndSet(x, p, grandparent);
+            x = grandparent;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) return;
+            int high = Math.max(a, b), low = Math.min(a, b);
+            // only succeeds while high is still a root; otherwise find the new roots and retry
+            if (parent.compareAndSet(high, high, low)) return;
+        }
+    }
+
+    private static class UnionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicIntegerArray parent;
+        private final int[] offsets, targets;
+        private final int from, to;
+
+        UnionTask(AtomicIntegerArray parent, int[] offsets, int[] targets, int from, int to) {
+            this.parent = parent;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_NODES) {
+                unionRange(parent, offsets, targets, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UnionTask(parent, offsets, targets, from, mid), new UnionTask(parent, offsets, targets, mid, to));
+        }
+    }
+
+    // ---------- Strongly connected components ----------
+    public static Result strong(int numNodes, int[] offsets, int[] targets) {
+        long start = System.nanoTime();
+        int[] index = new int[numNodes + 1];     // DFS discovery order, 1-based; 0 = not visited
+        int[] low = new int[numNodes + 1];
+        int[] component = new int[numNodes + 1];
+        boolean[] onStack = new boolean[numNodes + 1];
+        int[] stack = new int[numNodes];         // Tarjan's stack of open nodes
+        int[] callNode = new int[numNodes];      // DFS call stack: node and its next edge
+        int[] callEdge = new int[numNodes];
+        int[] size = new int[Math.max(1, numNodes)];
+        int top = 0, depth = 0, visited = 0, count = 0;
+
+        for (int root = 1; root <= numNodes; root++) {
+            if (index[root] != 0) continue;
+            index[root] = low[root] = ++visited;
+            stack[top++] = root;
+            onStack[root] = true;
+            callNode[0] = root;
+            callEdge[0] = offsets[root];
+            depth = 1;
+
+            while (depth > 0) {
+                int v = callNode[depth - 1];
+                int e = callEdge[depth - 1];
+                if (e < offsets[v + 1]) {
+                    callEdge[depth - 1] = e + 1;
+                    int w = targets[e];
+                    if (index[w] == 0) {
+                        // "recursive call" on w
+                        index[w] = low[w] = ++visited;
+                        stack[top++] = w;
+                        onStack[w] = true;
+                        callNode[depth] = w;
+                        callEdge[depth] = offsets[w];
+                        depth++;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                // all edges of v done: v closes a component if it is its root
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--top];
+                        onStack[w] = false;
+                        component[w] = count;
+                        size[count]++;
+                    } while (w != v);
+                    count++;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callNode[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return new Result(component, Arrays.copyOf(size, count), System.nanoTime() - start);
+    }
+}
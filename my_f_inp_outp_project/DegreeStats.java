@@ -0,0 +1,117 @@
+package my_f_inp_outp_project;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * In- and out-degrees of every node of a graph stored as compressed sparse rows, with degree
+ * histograms and the top-k nodes.
+ *
+ * Out-degrees are the row lengths. In-degrees come from one counting pass over the targets
+ * array; for graphs with at least PARALLEL_EDGES edges the pass is split into ranges counted
+ * on fork-join workers, each into its own array, and the arrays are summed.
+ */
+public class DegreeStats {
+    static final int PARALLEL_EDGES = 1 << 20;
+
+    public final int numNodes;
+    public final int[] outDegree;  // indexed by node id (1-based, entry 0 unused)
+    public final int[] inDegree;
+
+    private DegreeStats(int numNodes, int[] outDegree, int[] inDegree) {
+        this.numNodes = numNodes;
+        this.outDegree = outDegree;
+        this.inDegree = inDegree;
+    }
+
+    public static DegreeStats compute(int numNodes, int[] offsets, int[] targets) {
+        int[] out = new int[numNodes + 1];
+        for (int v = 1; v <= numNodes; v++) {
+            out[v] = offsets[v + 1] - offsets[v];
+        }
+        int[] in;
+        if (targets.length >= PARALLEL_EDGES && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            int leaf = Math.max(PARALLEL_EDGES / 4, targets.length / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            in = ForkJoinPool.commonPool().invoke(new CountTask(targets, 0, targets.length, numNodes, leaf));
+        } else {
+            in = count(targets, 0, targets.length, numNodes);
+        }
+        return new DegreeStats(numNodes, out, in);
+    }
+
+    private static int[] count(int[] targets, int from, int to, int numNodes) {
+        int[] counts = new int[numNodes + 1];
+        for (int e = from; e < to; e++) {
+            counts[targets[e]]++;
+        }
+        return counts;
+    }
+
+    private static class CountTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] targets;
+        private final int from, to, numNodes, leaf;
+
+        CountTask(int[] targets, int from, int to, int numNodes, int leaf) {
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.numNodes = numNodes;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= leaf) return count(targets, from, to, numNodes);
+            int mid = (from + to) >>> 1;
+            CountTask right = new CountTask(targets, mid, to, numNodes, leaf);
+            right.fork();
+            int[] counts = new CountTask(targets, from, mid, numNodes, leaf).compute();
+            int[] other = right.join();
+            for (int v = 0; v < counts.length; v++) counts[v] += other[v];
+            return counts;
+        }
+    }
+
+    /** histogram[d] = number of nodes with degree d, for d = 0 .. max degree. */
+    public long[] histogram(int[] degree) {
+        int max = 0;
+        for (int v = 1; v <= numNodes; v++) max = Math.max(max, degree[v]);
+        long[] histogram = new long[max + 1];
+        for (int v = 1; v <= numNodes; v++) histogram[degree[v]]++;
+        return histogram;
+    }
+
+    /** The k nodes with the highest degree, highest first; equal degrees in increasing node id. */
+    public int[] topK(int[] degree, int k) {
+        k = Math.min(k, numNodes);
+        // min-heap of the best k so far: its head is the weakest of them
+        PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(1, k), (a, b) -> degree[a] != degree[b] ? Integer.compare(degree[a], degree[b]) : Integer.compare(b, a));
+        for (int v = 1; v <= numNodes && k > 0; v++) {
+            if (best.size() < k) {
+                best.add(v);
+            } else if (degree[v] > degree[best.peek()]) {
+                best.poll();
+                best.add(v);
+            }
+        }
+        int[] top = new int[best.size()];
+        for (int i = top.length - 1; i >= 0; i--) top[i] = best.poll();
+        return top;
+    }
+
+    /** Histogram folded into power-of-two buckets: "0: n, 1: n, 2-3: n, 4-7: n, ...". */
+    public static String summary(long[] histogram) {
+        StringBuilder sb = new StringBuilder();
+        if (histogram.length > 0) sb.append("0: ").append(histogram[0]);
+        for (int lo = 1; lo < histogram.length; lo <<= 1) {
+            int hi = Math.min(histogram.length - 1, 2 * lo - 1);
+            long nodes = 0;
+            for (int d = lo; d <= hi; d++) nodes += histogram[d];
+            sb.append(", ").append(lo == 1 ? "1" : lo + "-" + (2 * lo - 1)).append(": ").append(nodes);
+        }
+        return sb.toString();
+    }
+}
@@ -1,231 +1,392 @@
-package my_f_inp_outp_project;
-
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.*;
-
-public class GoogleWebGraph {
-    private int numNodes;
-    private int numEdges;
-    private boolean[][] adjacencyMatrix;
-    private List<List<Integer>> adjacencyList;
-    
-    public GoogleWebGraph(String filename) {
-        readGraphData(filename);
-    }
-    
-    /**
-     * Part 2: Read the graph data using Scanner (as shown in instructions)
-     */
-    private void readGraphData(String filename) {
-        // abs path to file
-        String absolutePath = "G:/Computational Thinking and Big Data/Eclipse/eclipse_workspace/my_f_inp_outp_project/src/my_f_inp_outp_project/web-google.mtx";
-        File f = new File(absolutePath);
-        
-        System.out.println("Looking for file at: " + f.getAbsolutePath());
-        System.out.println("File exists: " + f.exists());
-        
-        if (!f.exists()) {
-            System.out.println("File not found! Using relative path as fallback...");
-            f = new File(filename);
-        }
-        
-        int lineCounter = 0;
-        
-        try {
-            Scanner sc = new Scanner(f);
-            List<int[]> edgePairs = new ArrayList<>();
-            
-            while(sc.hasNextLine()) {
-                String line = sc.nextLine();
-                lineCounter++;
-                
-                // Skip comment lines (start with %)
-                if (line.startsWith("%")) {
-                    continue;
-                }
-                
-                // Split by whitespace (as shown in instructions)
-                String[] tokens = line.split("\\s+");
-                
-                // First data line: "1299 1299 2773"
-                if (tokens.length == 3 && numNodes == 0) {
-                    numNodes = Integer.parseInt(tokens[0]);
-                    numEdges = Integer.parseInt(tokens[2]);
-                    
-                    // Initialize both representations
-                    initializeDataStructures();
-                    continue;
-                }
-                
-                // Edge lines: "333 1"
-                if (tokens.length >= 2) {
-                    int source = Integer.parseInt(tokens[0]);
-                    int target = Integer.parseInt(tokens[1]);
-                    edgePairs.add(new int[]{source, target});
-                }
-            }
-            
-            sc.close();
-            
-            // Build both graph representations
-            buildAdjacencyMatrix(edgePairs);
-            buildAdjacencyList(edgePairs);
-            
-            System.out.println("Successfully read " + edgePairs.size() + " edges");
-            
-        } catch (FileNotFoundException ex) {
-            System.out.println("File " + f + " not found.");
-            // Ініціалізуємо пусті структури даних щоб уникнути NullPointerException
-            initializeEmptyStructures();
-        }
-    }
-    
-    private void initializeEmptyStructures() {
-        this.numNodes = 0;
-        this.numEdges = 0;
-        this.adjacencyMatrix = new boolean[0][0];
-        this.adjacencyList = new ArrayList<>();
-    }
-    
-    private void initializeDataStructures() {
-        // Adjacency Matrix: size 1300x1300 (1-based indexing)
-        adjacencyMatrix = new boolean[numNodes + 1][numNodes + 1];
-        
-        // Adjacency List: array of lists, size 1300 (1-based indexing)
-        adjacencyList = new ArrayList<>(numNodes + 1);
-        for (int i = 0; i <= numNodes; i++) {
-            adjacencyList.add(new ArrayList<>());
-        }
-    }
-    
-    /**
-     * Exercise 1: Create adjacency matrix representation
-     * A 2D array where matrix[i][j] = true if there's an edge from i to j
-     */
-    private void buildAdjacencyMatrix(List<int[]> edgePairs) {
-        for (int[] edge : edgePairs) {
-            int source = edge[0];
-            int target = edge[1];
-            adjacencyMatrix[source][target] = true;
-        }
-        System.out.println("Adjacency matrix created: " + numNodes + "x" + numNodes);
-    }
-    
-    /**
-     * Exercise 2: Create adjacency list representation  
-     * A list of lists where list[i] contains all neighbors of node i
-     */
-    private void buildAdjacencyList(List<int[]> edgePairs) {
-        for (int[] edge : edgePairs) {
-            int source = edge[0];
-            int target = edge[1];
-            adjacencyList.get(source).add(target);
-        }
-        System.out.println("Adjacency list created for " + numNodes + " nodes");
-    }
-    
-    /**
-     * Part 3: Answer the questions
-     */
-    public void analyzeGraph() {
-        System.out.println("\n=== GRAPH ANALYSIS ===");
-        
-        if (numNodes == 0) {
-            System.out.println("Cannot analyze - no graph data loaded");
-            return;
-        }
-        
-        // Question 1: Node with highest out-degree
-        int maxOutDegree = 0;
-        int maxOutNode = 0;
-        for (int i = 1; i <= numNodes; i++) {
-            int outDegree = adjacencyList.get(i).size();
-            if (outDegree > maxOutDegree) {
-                maxOutDegree = outDegree;
-                maxOutNode = i;
-            }
-        }
-        System.out.println("1. Node with highest OUT-degree: " + maxOutNode);
-        System.out.println("   Out-degree: " + maxOutDegree);
-        
-        // Question 2: Node with highest in-degree
-        int[] inDegrees = new int[numNodes + 1];
-        for (int i = 1; i <= numNodes; i++) {
-            for (int neighbor : adjacencyList.get(i)) {
-                inDegrees[neighbor]++;
-            }
-        }
-        
-        int maxInDegree = 0;
-        int maxInNode = 0;
-        for (int i = 1; i <= numNodes; i++) {
-            if (inDegrees[i] > maxInDegree) {
-                maxInDegree = inDegrees[i];
-                maxInNode = i;
-            }
-        }
-        System.out.println("2. Node with highest IN-degree: " + maxInNode);
-        System.out.println("   In-degree: " + maxInDegree);
-        
-        // Question 3: Memory comparison
-        long matrixMemory = (long) (numNodes + 1) * (numNodes + 1); // bytes for boolean matrix
-        long listMemory = 0;
-        for (int i = 1; i <= numNodes; i++) {
-            listMemory += adjacencyList.get(i).size() * 4 + 20; // approximate
-        }
-        
-        System.out.println("3. Memory Usage Comparison:");
-        System.out.println("   Adjacency Matrix: ~" + matrixMemory + " bytes");
-        System.out.println("   Adjacency List: ~" + listMemory + " bytes");
-        System.out.println("   List uses " + String.format("%.1f", (double)listMemory/matrixMemory*100) + "% of matrix memory");
-    }
-    
-    /**
-     * Test methods to verify our implementations
-     */
-    public void testImplementations() {
-        System.out.println("\n=== TESTING IMPLEMENTATIONS ===");
-        
-        if (numNodes == 0) {
-            System.out.println("Cannot test - no graph data loaded");
-            return;
-        }
-        
-        // Test a known edge from the file description
-        System.out.println("Testing edge from 333 to 1: " + hasEdge(333, 1));
-        System.out.println("Testing edge from 808 to 1: " + hasEdge(808, 1));
-        
-        // Test adjacency list for node 333
-        System.out.println("Neighbors of node 333: " + getNeighbors(333).size() + " neighbors");
-    }
-    
-    // Helper methods
-    public boolean hasEdge(int source, int target) {
-        if (adjacencyMatrix == null || source >= adjacencyMatrix.length || target >= adjacencyMatrix[0].length) {
-            return false;
-        }
-        return adjacencyMatrix[source][target];
-    }
-    
-    public List<Integer> getNeighbors(int node) {
-        if (adjacencyList == null || node >= adjacencyList.size()) {
-            return new ArrayList<>();
-        }
-        return adjacencyList.get(node);
-    }
-    
-    /**
-     * Main method - run everything
-     */
-    public static void main(String[] args) {
-        // Step 3: Run the analysis
-        GoogleWebGraph graph = new GoogleWebGraph("web-google.mtx");
-        
-        // Step 4: Answer the questions
-        graph.analyzeGraph();
-        
-        // Step 5: Verify implementations work
-        graph.testImplementations();
-    }
-}
+package my_f_inp_outp_project;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.IntBuffer;
+import java.util.*;
+import java.util.function.Supplier;
+
+public class GoogleWebGraph {
+    // The adjacency matrix is only built for graphs up to this many cells (~256 MB of booleans)
+    private static final long MATRIX_MAX_CELLS = 1L << 28;
+    
+    private int numNodes;
+    private int numEdges;         // entries in the file
+    private boolean symmetric;    // the file stores one triangle; the lists hold both directions
+    private boolean[][] adjacencyMatrix; // built on request, see adjacencyMatrix()
+    // Compressed sparse rows (1-based node ids): the neighbors of node i are
+    // targets[offsets[i]] .. targets[offsets[i + 1] - 1], in increasing order
+    private int[] offsets;
+    private int[] targets;
+    
+    public GoogleWebGraph(String filename) {
+        readGraphData(filename);
+    }
+    
+    /**
+     * Part 2: Read the graph data (MatrixMarketReader: memory-mapped, indices parsed straight
+     * into int arrays sized from the declared number of entries)
+     */
+    private void readGraphData(String filename) {
+        // abs path to file
+        String absolutePath = "G:/Computational Thinking and Big Data/Eclipse/eclipse_workspace/my_f_inp_outp_project/src/my_f_inp_outp_project/web-google.mtx";
+        File f = new File(absolutePath);
+        
+        System.out.println("Looking for file at: " + f.getAbsolutePath());
+        System.out.println("File exists: " + f.exists());
+        
+        if (!f.exists()) {
+            System.out.println("File not found! Using relative path as fallback...");
+            f = new File(filename);
+        }
+        
+        if (!f.exists()) {
+            System.out.println("File " + f + " not found.");
+            // Ініціалізуємо пусті структури даних щоб уникнути NullPointerException
+            initializeEmptyStructures();
+            return;
+        }
+        
+        try {
+            long start = System.nanoTime();
+            MatrixMarketReader.Entries entries = MatrixMarketReader.read(f.toPath());
+            // First data line: "1299 1299 2773"
+            numNodes = Math.max(entries.rows, entries.cols);
+            numEdges = entries.nnz;
+            symmetric = entries.symmetric();
+            
+            // The matrix is not built here: it is quadratic in numNodes, see adjacencyMatrix()
+            buildAdjacencyList(entries.rowIndex, entries.colIndex, symmetric);
+            
+            System.out.println("Successfully read " + entries.nnz + " edges (" + entries.field + " " + entries.symmetry + ") in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            if (symmetric) {
+                System.out.println("Symmetric storage expanded to " + targets.length + " directed edges");
+            }
+            
+        } catch (IOException ex) {
+            System.out.println("Could not read " + f + ": " + ex.getMessage());
+            initializeEmptyStructures();
+        }
+    }
+    
+    private void initializeEmptyStructures() {
+        this.numNodes = 0;
+        this.numEdges = 0;
+        this.adjacencyMatrix = null;
+        this.offsets = new int[2];
+        this.targets = new int[0];
+    }
+    
+    /**
+     * Exercise 1: Create adjacency matrix representation
+     * A 2D array where matrix[i][j] = true if there's an edge from i to j.
+     * Built from the adjacency list on the first call, and only if it has at most
+     * MATRIX_MAX_CELLS cells: the full web-Google graph (~875k nodes) would need ~765 GB.
+     */
+    public boolean[][] adjacencyMatrix() {
+        if (adjacencyMatrix == null) {
+            long cells = (long) (numNodes + 1) * (numNodes + 1);
+            if (cells > MATRIX_MAX_CELLS) {
+                throw new IllegalStateException("adjacency matrix of " + numNodes + " nodes would need ~" + matrixBytes(numNodes) + " bytes");
+            }
+            adjacencyMatrix = newMatrix();
+            System.out.println("Adjacency matrix created: " + numNodes + "x" + numNodes);
+        }
+        return adjacencyMatrix;
+    }
+    
+    private boolean[][] newMatrix() {
+        boolean[][] matrix = new boolean[numNodes + 1][numNodes + 1];
+        for (int source = 1; source <= numNodes; source++) {
+            for (int e = offsets[source]; e < offsets[source + 1]; e++) {
+                matrix[source][targets[e]] = true;
+            }
+        }
+        return matrix;
+    }
+    
+    public boolean matrixFits() {
+        return (long) (numNodes + 1) * (numNodes + 1) <= MATRIX_MAX_CELLS;
+    }
+    
+    /**
+     * Exercise 2: Create adjacency list representation  
+     * Compressed sparse rows: count the edges per source, turn the counts into row offsets,
+     * place every target in its row and sort each row (for hasEdge's binary search).
+     * Edge k goes from sources[k] to destinations[k]; if symmetric, also from destinations[k]
+     * to sources[k] (a self-loop is stored once).
+     */
+    private void buildAdjacencyList(int[] sources, int[] destinations, boolean symmetric) {
+        offsets = new int[numNodes + 2];
+        for (int k = 0; k < sources.length; k++) {
+            offsets[sources[k] + 1]++;
+            if (symmetric && sources[k] != destinations[k]) {
+                offsets[destinations[k] + 1]++;
+            }
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        targets = new int[offsets[numNodes + 1]];
+        int[] next = Arrays.copyOf(offsets, numNodes + 1);
+        for (int k = 0; k < sources.length; k++) {
+            targets[next[sources[k]]++] = destinations[k];
+            if (symmetric && sources[k] != destinations[k]) {
+                targets[next[destinations[k]]++] = sources[k];
+            }
+        }
+        for (int i = 1; i <= numNodes; i++) {
+            Arrays.sort(targets, offsets[i], offsets[i + 1]);
+        }
+        System.out.println("Adjacency list created for " + numNodes + " nodes");
+    }
+    
+    /**
+     * Part 3: Answer the questions
+     */
+    public void analyzeGraph() {
+        System.out.println("\n=== GRAPH ANALYSIS ===");
+        
+        if (numNodes == 0) {
+            System.out.println("Cannot analyze - no graph data loaded");
+            return;
+        }
+        
+        // Questions 1 and 2: one counting pass for all degrees (both directions of a symmetric file)
+        long start = System.nanoTime();
+        DegreeStats degrees = DegreeStats.compute(numNodes, offsets, targets);
+        long degreeNanos = System.nanoTime() - start;
+        
+        int maxOutNode = degrees.topK(degrees.outDegree, 1)[0];
+        System.out.println("1. Node with highest OUT-degree: " + maxOutNode);
+        System.out.println("   Out-degree: " + degrees.outDegree[maxOutNode]);
+        
+        int maxInNode = degrees.topK(degrees.inDegree, 1)[0];
+        System.out.println("2. Node with highest IN-degree: " + maxInNode);
+        System.out.println("   In-degree: " + degrees.inDegree[maxInNode]);
+        
+        System.out.println("   Top 5 by out-degree: " + topList(degrees.outDegree, degrees.topK(degrees.outDegree, 5)));
+        System.out.println("   Top 5 by in-degree: " + topList(degrees.inDegree, degrees.topK(degrees.inDegree, 5)));
+        System.out.println("   Out-degree histogram (degree: nodes): " + DegreeStats.summary(degrees.histogram(degrees.outDegree)));
+        System.out.println("   In-degree histogram (degree: nodes): " + DegreeStats.summary(degrees.histogram(degrees.inDegree)));
+        System.out.println("   Degrees of " + targets.length + " edges counted in " + String.format("%.1f", degreeNanos / 1e6) + " ms");
+        
+        // Question 3: Memory comparison. The estimates are computed from the array lengths
+        // (16-byte array headers, 4-byte references, as on a 64-bit JVM with compressed oops) and
+        // exist for every graph; the measurements are used-heap deltas around building a copy of
+        // each structure, taken only when the copy fits comfortably in the free heap
+        long matrixMemory = matrixBytes(numNodes);
+        long listMemory = arrayBytes(4, offsets.length) + arrayBytes(4, targets.length);
+        long boxedListMemory = boxedListBytes();
+        long matrixMeasured = matrixFits() && fitsInHeap(matrixMemory) ? measuredBytes(this::newMatrix) : -1;
+        long listMeasured = fitsInHeap(listMemory) ? measuredBytes(() -> new int[][]{offsets.clone(), targets.clone()}) : -1;
+        long boxedListMeasured = fitsInHeap(boxedListMemory) ? measuredBytes(this::boxedLists) : -1;
+        
+        System.out.println("3. Memory Usage Comparison (estimated from array lengths; measured as the used heap after System.gc() around building a copy):");
+        System.out.println("   Adjacency Matrix: ~" + matrixMemory + " bytes estimated, " + measured(matrixMeasured));
+        System.out.println("   Adjacency List (CSR int[] offsets + targets): ~" + listMemory + " bytes estimated, " + measured(listMeasured));
+        System.out.println("   Same lists as List<List<Integer>>: ~" + boxedListMemory + " bytes estimated, " + measured(boxedListMeasured));
+        System.out.println("   List uses " + String.format("%.1f", (double)listMemory/matrixMemory*100) + "% of matrix memory");
+    }
+    
+    private static String measured(long bytes) {
+        return bytes < 0 ? "not measured (too large to build)" : bytes + " bytes measured";
+    }
+    
+    // Used-heap delta around build(), with the result still reachable. System.gc() is only a request,
+    // so this is the best of three collections on each side and can be off by a few KB.
+    private static long measuredBytes(Supplier<Object> build) {
+        long before = usedHeapAfterGc();
+        Object copy = build.get();
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(copy);
+        return after - before;
+    }
+    
+    private static long usedHeapAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+    
+    // A copy of bytes leaves at least as much heap free again
+    private static boolean fitsInHeap(long bytes) {
+        Runtime rt = Runtime.getRuntime();
+        return 2 * bytes < rt.maxMemory() - (rt.totalMemory() - rt.freeMemory());
+    }
+    
+    // The rows as a List<List<Integer>>, one ArrayList per node sized to its degree
+    private List<List<Integer>> boxedLists() {
+        List<List<Integer>> lists = new ArrayList<>(numNodes + 1);
+        for (int i = 0; i <= numNodes; i++) {
+            List<Integer> row = new ArrayList<>(outDegree(i));
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                row.add(targets[e]);
+            }
+            lists.add(row);
+        }
+        return lists;
+    }
+    
+    // "node (degree)" for each node of top
+    private static String topList(int[] degree, int[] top) {
+        StringJoiner out = new StringJoiner(", ");
+        for (int node : top) {
+            out.add(node + " (" + degree[node] + ")");
+        }
+        return out.toString();
+    }
+    
+    // Estimated bytes of boolean[numNodes + 1][numNodes + 1]: the outer array of references plus one row array per node
+    private static long matrixBytes(int numNodes) {
+        return arrayBytes(4, numNodes + 1) + (long) (numNodes + 1) * arrayBytes(1, numNodes + 1);
+    }
+    
+    // Estimated bytes of an ArrayList<ArrayList<Integer>> holding the same rows (ArrayList 24 bytes + its Object[],
+    // Integer 16 bytes unless it comes from the -128..127 cache)
+    private long boxedListBytes() {
+        long bytes = 24 + arrayBytes(4, numNodes + 1);
+        for (int i = 0; i <= numNodes; i++) {
+            bytes += 24 + arrayBytes(4, outDegree(i));
+        }
+        for (int e = 0; e < targets.length; e++) {
+            if (targets[e] > 127) bytes += 16;
+        }
+        return bytes;
+    }
+    
+    // Estimated bytes of a primitive or reference array: 16-byte header, rounded up to 8 bytes
+    private static long arrayBytes(int elementBytes, long length) {
+        return (16 + elementBytes * length + 7) & ~7L;
+    }
+    
+    /**
+     * Rank the pages: PageRank (damping 0.85) and personalized PageRank seeded at the
+     * best-ranked page. Parallel for graphs with at least DegreeStats.PARALLEL_EDGES edges.
+     */
+    public void rankPages() {
+        System.out.println("\n=== PAGE RANK ===");
+        
+        if (numNodes == 0) {
+            System.out.println("Cannot rank - no graph data loaded");
+            return;
+        }
+        
+        boolean parallel = targets.length >= DegreeStats.PARALLEL_EDGES;
+        PageRank pageRank = new PageRank(numNodes, offsets, targets, symmetric, parallel);
+        
+        PageRank.Result global = pageRank.run(0.85, 1e-9, 200);
+        printRanking("PageRank", global);
+        
+        int seed = PageRank.top(global.rank, 1)[0];
+        PageRank.Result personal = pageRank.personalized(new int[]{seed}, 0.85, 1e-9, 200);
+        printRanking("Personalized PageRank from node " + seed, personal);
+    }
+    
+    private static void printRanking(String label, PageRank.Result r) {
+        System.out.println(label + ": " + r.iterations + " iterations" + (r.converged ? "" : " (not converged)")
+                + ", L1 change " + String.format("%.2e", r.residual)
+                + ", " + String.format("%.1f ms (%.2f ms/iteration)", r.nanos / 1e6, r.millisPerIteration()));
+        StringJoiner top = new StringJoiner(", ");
+        for (int node : PageRank.top(r.rank, 10)) {
+            top.add(node + " (" + String.format("%.4g", r.rank[node]) + ")");
+        }
+        System.out.println("   Top 10: " + top);
+    }
+    
+    /**
+     * Connectivity: weakly connected components (edge directions ignored) with a lock-free
+     * union-find, and strongly connected components with an iterative Tarjan.
+     */
+    public void analyzeConnectivity() {
+        System.out.println("\n=== CONNECTIVITY ===");
+        
+        if (numNodes == 0) {
+            System.out.println("Cannot analyze - no graph data loaded");
+            return;
+        }
+        
+        boolean parallel = targets.length >= DegreeStats.PARALLEL_EDGES;
+        printComponents("Weakly connected components", Components.weak(numNodes, offsets, targets, parallel));
+        printComponents("Strongly connected components", Components.strong(numNodes, offsets, targets));
+    }
+    
+    private static void printComponents(String label, Components.Result r) {
+        int giant = r.giant();
+        System.out.println(label + ": " + r.count() + " in " + String.format("%.1f", r.nanos / 1e6) + " ms");
+        System.out.println("   Largest: " + r.size[giant] + " nodes (" + String.format("%.1f", r.giantShare() * 100) + "% of all nodes)");
+        System.out.println("   Sizes (size: components): " + r.sizeDistribution());
+    }
+    
+    /**
+     * Test methods to verify our implementations
+     */
+    public void testImplementations() {
+        System.out.println("\n=== TESTING IMPLEMENTATIONS ===");
+        
+        if (numNodes == 0) {
+            System.out.println("Cannot test - no graph data loaded");
+            return;
+        }
+        
+        // Test a known edge from the file description
+        System.out.println("Testing edge from 333 to 1: " + hasEdge(333, 1));
+        System.out.println("Testing edge from 808 to 1: " + hasEdge(808, 1));
+        
+        // Test adjacency list for node 333
+        System.out.println("Neighbors of node 333: " + getNeighbors(333).remaining() + " neighbors");
+        
+        // The matrix answers the same question, when it is small enough to build
+        if (matrixFits()) {
+            boolean[][] matrix = adjacencyMatrix();
+            System.out.println("Matrix agrees on 333 -> 1: " + (matrix[333][1] == hasEdge(333, 1)));
+        }
+    }
+    
+    // Helper methods
+    // Binary search in the sorted row of source
+    public boolean hasEdge(int source, int target) {
+        if (source < 0 || source > numNodes) {
+            return false;
+        }
+        return Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target) >= 0;
+    }
+    
+    // Read-only view of the row of node in the targets array (no copy), in increasing order
+    public IntBuffer getNeighbors(int node) {
+        if (node < 0 || node > numNodes) {
+            return IntBuffer.allocate(0);
+        }
+        return IntBuffer.wrap(targets, offsets[node], outDegree(node)).slice().asReadOnlyBuffer();
+    }
+    
+    public int outDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+    
+    /**
+     * Main method - run everything
+     */
+    public static void main(String[] args) {
+        // Step 3: Run the analysis (args[0]: another .mtx file as the relative-path fallback)
+        GoogleWebGraph graph = new GoogleWebGraph(args.length > 0 ? args[0] : "web-google.mtx");
+        
+        // Step 4: Answer the questions
+        graph.analyzeGraph();
+        
+        // Step 5: Verify implementations work
+        graph.testImplementations();
+        
+        // Step 6: Rank the pages
+        graph.rankPages();
+        
+        // Step 7: Connected components
+        graph.analyzeConnectivity();
+    }
+}
@@ -0,0 +1,193 @@
+package my_f_inp_outp_project;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Reader for MatrixMarket coordinate files (.mtx) such as web-google.mtx.
+ *
+ * The file is memory-mapped (in windows of WINDOW_SIZE bytes cut after a line end) and the
+ * entry indices are parsed straight from the bytes into two int arrays sized from the nnz
+ * count of the size line, so an entry costs no allocation.
+ *
+ * The banner "%%MatrixMarket matrix coordinate <field> <symmetry>" (or "%MatrixMarket ...")
+ * is honoured:
+ * - field pattern: entries are "i j"; real, integer: "i j value"; complex: "i j re im".
+ *   Values are skipped, only the structure is kept.
+ * - symmetry general: every entry is stored; symmetric, skew-symmetric, hermitian: only one
+ *   triangle is stored and the caller has to mirror it (see Entries.symmetric).
+ * Indices are 1-based, as in the file.
+ */
+public class MatrixMarketReader {
+    static final long WINDOW_SIZE = 256L << 20;
+
+    /** Parsed entries: entry k is (rowIndex[k], colIndex[k]). */
+    public static class Entries {
+        public final int rows, cols, nnz;
+        public final String field, symmetry;
+        public final int[] rowIndex, colIndex;
+
+        Entries(int rows, int cols, int nnz, String field, String symmetry) {
+            this.rows = rows;
+            this.cols = cols;
+            this.nnz = nnz;
+            this.field = field;
+            this.symmetry = symmetry;
+            this.rowIndex = new int[nnz];
+            this.colIndex = new int[nnz];
+        }
+
+        // Only one triangle is stored: (i, j) also stands for (j, i)
+        public boolean symmetric() {
+            return !symmetry.equals("general");
+        }
+    }
+
+    public static Entries read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, WINDOW_SIZE));
+
+            // Banner
+            int pos = 0;
+            int end = headerLineEnd(buf, pos, size);
+            String[] banner = line(buf, pos, end).trim().toLowerCase(Locale.ROOT).split("\\s+");
+            // web-google.mtx starts its banner with a single '%'
+            if (banner.length != 5 || !banner[0].matches("%%?matrixmarket") || !banner[1].equals("matrix")) {
+                throw new IOException(file + ": not a MatrixMarket matrix file");
+            }
+            if (!banner[2].equals("coordinate")) {
+                throw new IOException(file + ": only coordinate format is supported, not " + banner[2]);
+            }
+            String field = banner[3], symmetry = banner[4];
+            int values;
+            switch (field) {
+                case "pattern": values = 0; break;
+                case "real": case "integer": values = 1; break;
+                case "complex": values = 2; break;
+                default: throw new IOException(file + ": unknown field " + field);
+            }
+            if (!symmetry.matches("general|symmetric|skew-symmetric|hermitian")) {
+                throw new IOException(file + ": unknown symmetry " + symmetry);
+            }
+
+            // Comments, then the size line "rows cols nnz"
+            pos = end + 1;
+            while (pos < buf.limit() && (buf.get(pos) == '%' || isBlankLine(buf, pos))) {
+                pos = headerLineEnd(buf, pos, size) + 1;
+            }
+            if (pos >= buf.limit()) throw new IOException(file + ": missing size line");
+            end = headerLineEnd(buf, pos, size);
+            String[] sizes = line(buf, pos, end).trim().split("\\s+");
+            int rows, cols, nnz;
+            try {
+                if (sizes.length != 3) throw new NumberFormatException();
+                rows = Integer.parseInt(sizes[0]);
+                cols = Integer.parseInt(sizes[1]);
+                nnz = Integer.parseInt(sizes[2]);
+                if (rows < 0 || cols < 0 || nnz < 0) throw new NumberFormatException();
+            } catch (NumberFormatException e) {
+                throw new IOException(file + ": bad size line: " + line(buf, pos, end));
+            }
+            long offset = end + 1;
+            // every entry is at least "i j\n" (the last one may lack the newline); checked before nnz sizes the arrays
+            if ((long) nnz * 4 > size - offset + 1) {
+                throw new IOException(file + ": " + nnz + " entries declared, but only " + Math.max(0, size - offset) + " bytes follow the size line");
+            }
+            Entries out = new Entries(rows, cols, nnz, field, symmetry);
+
+            // Entries, window by window
+            int k = 0;
+            int[] cursor = new int[1];
+            while (offset < size) {
+                long windowEnd = Math.min(size, offset + WINDOW_SIZE);
+                buf = ch.map(FileChannel.MapMode.READ_ONLY, offset, windowEnd - offset);
+                int limit = buf.limit();
+                if (windowEnd < size) {
+                    // stop after the last complete line of the window
+                    while (limit > 0 && buf.get(limit - 1) != '\n') limit--;
+                    if (limit == 0) throw new IOException(file + ": line longer than " + WINDOW_SIZE + " bytes");
+                }
+                cursor[0] = 0;
+                while (true) {
+                    int i = nextNumber(buf, cursor, limit);
+                    if (i < 0) break;
+                    int j = nextNumber(buf, cursor, limit);
+                    if (j < 0) throw new IOException(file + ": entry " + (k + 1) + " has no column index");
+                    if (k == out.nnz) throw new IOException(file + ": more than the " + out.nnz + " declared entries");
+                    if (i < 1 || i > out.rows || j < 1 || j > out.cols) {
+                        throw new IOException(file + ": entry " + (k + 1) + " (" + i + ", " + j + ") is outside " + out.rows + " x " + out.cols);
+                    }
+                    out.rowIndex[k] = i;
+                    out.colIndex[k] = j;
+                    k++;
+                    // the values are not needed: skip the rest of the line
+                    if (values > 0) cursor[0] = Math.min(limit, lineEnd(buf, cursor[0]) + 1);
+                }
+                offset += limit;
+            }
+            if (k != out.nnz) throw new IOException(file + ": " + out.nnz + " entries declared, " + k + " found");
+            return out;
+        }
+    }
+
+    // Next unsigned integer at or after cursor[0] (skipping whitespace), or -1 at the limit
+    private static int nextNumber(MappedByteBuffer buf, int[] cursor, int limit) throws IOException {
+        int p = cursor[0];
+        while (p < limit && isSpace(buf.get(p))) p++;
+        if (p == limit) {
+            cursor[0] = p;
+            return -1;
+        }
+        long v = 0;
+        int start = p;
+        while (p < limit) {
+            byte b = buf.get(p);
+            if (b < '0' || b > '9') break;
+            v = v * 10 + (b - '0');
+            if (v > Integer.MAX_VALUE) throw new IOException("index too large near byte " + start);
+            p++;
+        }
+        if (p == start || (p < limit && !isSpace(buf.get(p)))) {
+            throw new IOException("bad index \"" + line(buf, start, Math.min(limit, start + 20)) + "\"");
+        }
+        cursor[0] = p;
+        return (int) v;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isBlankLine(MappedByteBuffer buf, int pos) {
+        int end = lineEnd(buf, pos);
+        for (int p = pos; p < end; p++) {
+            if (!isSpace(buf.get(p))) return false;
+        }
+        return true;
+    }
+
+    // lineEnd for the banner, comments and size line, which must lie in the first window
+    private static int headerLineEnd(MappedByteBuffer buf, int pos, long fileSize) throws IOException {
+        int end = lineEnd(buf, pos);
+        if (end == buf.limit() && end < fileSize) throw new IOException("header longer than " + WINDOW_SIZE + " bytes");
+        return end;
+    }
+
+    // Index of the '\n' ending the line at pos, or the buffer limit
+    private static int lineEnd(MappedByteBuffer buf, int pos) {
+        while (pos < buf.limit() && buf.get(pos) != '\n') pos++;
+        return pos;
+    }
+
+    private static String line(MappedByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,185 @@
+package my_f_inp_outp_project;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * PageRank and personalized PageRank on a graph stored as compressed sparse rows (1-based node
+ * ids, as in GoogleWebGraph).
+ *
+ * Pull-based power iteration: every node sums the contributions rank[u] / outDegree[u] of its
+ * in-neighbors, so each node's new rank is written by exactly one worker and no atomics are
+ * needed. The in-neighbors are the rows of the transposed graph, built once here (a symmetric
+ * graph is its own transpose and reuses the arrays).
+ *
+ *   rank'[v] = (1 - d) * p[v] + d * (sum over u -> v of rank[u] / out[u] + dangling * p[v])
+ *
+ * p is the teleport distribution (uniform, or the seed nodes for personalized PageRank) and
+ * dangling is the rank held by nodes without out-edges, which is sent along p as well, so the
+ * ranks keep summing to 1. Iteration stops when the L1 change drops below the tolerance.
+ *
+ * With parallel on, both passes of an iteration (contributions, then new ranks) run over node
+ * ranges of LEAF_NODES on the common fork-join pool.
+ */
+public class PageRank {
+    static final int LEAF_NODES = 1 << 14;
+
+    public static class Result {
+        public double[] rank;      // indexed by node id, entry 0 unused
+        public int iterations;
+        public double residual;    // L1 change of the last iteration
+        public boolean converged;
+        public long nanos;
+
+        public double millisPerIteration() {
+            return iterations == 0 ? 0 : nanos / 1e6 / iterations;
+        }
+    }
+
+    private final int numNodes;
+    private final int[] outDegree;
+    private final int[] inOffsets, sources;   // in-neighbors of v: sources[inOffsets[v] .. inOffsets[v + 1])
+    private final boolean parallel;
+
+    public PageRank(int numNodes, int[] offsets, int[] targets, boolean symmetric, boolean parallel) {
+        this.numNodes = numNodes;
+        this.parallel = parallel;
+        outDegree = new int[numNodes + 1];
+        for (int v = 1; v <= numNodes; v++) {
+            outDegree[v] = offsets[v + 1] - offsets[v];
+        }
+        if (symmetric) {
+            inOffsets = offsets;
+            sources = targets;
+        } else {
+            // transpose: count in-degrees, prefix sums, place every source in its target's row
+            inOffsets = new int[numNodes + 2];
+            for (int t : targets) inOffsets[t + 1]++;
+            for (int v = 1; v < inOffsets.length; v++) inOffsets[v] += inOffsets[v - 1];
+            sources = new int[targets.length];
+            int[] next = Arrays.copyOf(inOffsets, numNodes + 1);
+            for (int u = 1; u <= numNodes; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) sources[next[targets[e]]++] = u;
+            }
+        }
+    }
+
+    /** PageRank with uniform teleport. */
+    public Result run(double damping, double tolerance, int maxIterations) {
+        double[] teleport = new double[numNodes + 1];
+        Arrays.fill(teleport, 1, numNodes + 1, 1.0 / numNodes);
+        return run(damping, tolerance, maxIterations, teleport);
+    }
+
+    /** Personalized PageRank: teleports (and dangling rank) go to the seed nodes only. */
+    public Result personalized(int[] seeds, double damping, double tolerance, int maxIterations) {
+        if (seeds.length == 0) throw new IllegalArgumentException("no seed nodes");
+        double[] teleport = new double[numNodes + 1];
+        for (int s : seeds) {
+            if (s < 1 || s > numNodes) throw new IllegalArgumentException("seed " + s + " is not a node");
+            teleport[s] += 1.0 / seeds.length;
+        }
+        return run(damping, tolerance, maxIterations, teleport);
+    }
+
+    private Result run(double damping, double tolerance, int maxIterations, double[] teleport) {
+        long start = System.nanoTime();
+        double[] rank = teleport.clone();
+        double[] next = new double[numNodes + 1];
+        double[] contribution = new double[numNodes + 1];
+
+        Result r = new Result();
+        while (r.iterations < maxIterations) {
+            double[] current = rank;
+            // pass 1: what every node sends along each out-edge; the rank of dangling nodes
+            double dangling = sum((from, to) -> {
+                double lost = 0;
+                for (int u = from; u < to; u++) {
+                    if (outDegree[u] == 0) {
+                        contribution[u] = 0;
+                        lost += current[u];
+                    } else {
+                        contribution[u] = current[u] / outDegree[u];
+                    }
+                }
+                return lost;
+            });
+            // pass 2: pull from the in-neighbors; returns the L1 change
+            double[] target = next;
+            r.residual = sum((from, to) -> {
+                double change = 0;
+                for (int v = from; v < to; v++) {
+                    double pulled = 0;
+                    for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) pulled += contribution[sources[e]];
+                    target[v] = (1 - damping) * teleport[v] + damping * (pulled + dangling * teleport[v]);
+                    change += Math.abs(target[v] - current[v]);
+                }
+                return change;
+            });
+            next = rank;
+            rank = target;
+            r.iterations++;
+            if (r.residual < tolerance) {
+                r.converged = true;
+                break;
+            }
+        }
+        r.rank = rank;
+        r.nanos = System.nanoTime() - start;
+        return r;
+    }
+
+    // ---------- Node-range reductions ----------
+    private interface RangeSum {
+        double apply(int from, int to);
+    }
+
+    // op over nodes 1..numNodes, on the fork-join pool if parallel
+    private double sum(RangeSum op) {
+        if (!parallel || numNodes <= LEAF_NODES) return op.apply(1, numNodes + 1);
+        return ForkJoinPool.commonPool().invoke(new SumTask(op, 1, numNodes + 1));
+    }
+
+    private static class SumTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeSum op;
+        private final int from, to;
+
+        SumTask(RangeSum op, int from, int to) {
+            this.op = op;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= LEAF_NODES) return op.apply(from, to);
+            int mid = (from + to) >>> 1;
+            SumTask right = new SumTask(op, mid, to);
+            right.fork();
+            double left = new SumTask(op, from, mid).compute();
+            return left + right.join();
+        }
+    }
+
+    /** The k nodes with the highest rank, highest first (equal ranks in increasing node id). */
+    public static int[] top(double[] rank, int k) {
+        k = Math.min(k, rank.length - 1);
+        // min-heap of the best k so far: its head is the weakest of them
+        PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(1, k), (a, b) -> rank[a] != rank[b] ? Double.compare(rank[a], rank[b]) : Integer.compare(b, a));
+        for (int v = 1; v < rank.length && k > 0; v++) {
+            if (best.size() < k) {
+                best.add(v);
+            } else if (rank[v] > rank[best.peek()]) {
+                best.poll();
+                best.add(v);
+            }
+        }
+        int[] out = new int[best.size()];
+        for (int i = out.length - 1; i >= 0; i--) out[i] = best.poll();
+        return out;
+    }
+}